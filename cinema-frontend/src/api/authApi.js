@@ -0,0 +1,8 @@
+import { httpPost, setToken } from "./http";
+
+// Login: παίρνει signed token και το χρησιμοποιεί στα επόμενα requests (χωρίς Basic credentials)
+export async function login(username, password) {
+  const res = await httpPost("/auth/login", { username, password });
+  setToken(res.token);
+  return res;
+}
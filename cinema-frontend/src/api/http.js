@@ -1,6 +1,6 @@
 const API_BASE = "/api";
 
-// Basic Auth header
+// Authorization header (Bearer token μετά το login, αλλιώς Basic)
 let authHeader = null;
 
 export function setBasicAuth(username, password) {
@@ -12,6 +12,10 @@ export function setBasicAuth(username, password) {
   }
 }
 
+export function setToken(token) {
+  authHeader = token ? `Bearer ${token}` : null;
+}
+
 export function clearAuth() {
   authHeader = null;
 }
@@ -45,7 +49,7 @@ async function readErrorBody(response) {
   }
 }
 
-async function request(path, options = {}) {
+async function send(path, options = {}) {
   const headers = {
     Accept: "application/json",
     ...(options.headers || {}),
@@ -60,9 +64,6 @@ async function request(path, options = {}) {
   });
 
 
-  if (response.status === 204) return null;
-
-
   if (!response.ok) {
     const errBody = await readErrorBody(response);
     const msg = errBody?.trim() ? errBody : (response.statusText || "Request failed");
@@ -72,6 +73,11 @@ async function request(path, options = {}) {
     throw error;
   }
 
+  return response;
+}
+
+async function readBody(response) {
+  if (response.status === 204) return null;
 
   const contentType = response.headers.get("content-type") || "";
   if (!contentType.includes("application/json")) {
@@ -81,6 +87,17 @@ async function request(path, options = {}) {
   return response.json();
 }
 
+async function request(path, options = {}) {
+  return readBody(await send(path, options));
+}
+
+// Σελίδα λίστας: { items, nextCursor } (το cursor έρχεται στο X-Next-Cursor header)
+async function requestPage(path, options = {}) {
+  const response = await send(path, options);
+  const items = await readBody(response);
+  return { items: items || [], nextCursor: response.headers.get("X-Next-Cursor") };
+}
+
 export function httpGet(path, params) {
   return request(`${path}${toQuery(params)}`, { method: "GET" });
 }
@@ -93,6 +110,30 @@ export function httpPost(path, body, params) {
   });
 }
 
+export function httpGetPage(path, params) {
+  return requestPage(`${path}${toQuery(params)}`, { method: "GET" });
+}
+
+export function httpPostPage(path, body, params) {
+  return requestPage(`${path}${toQuery(params)}`, {
+    method: "POST",
+    headers: { "Content-Type": "application/json" },
+    body: body === undefined || body === null ? undefined : JSON.stringify(body),
+  });
+}
+
+// Ακολουθεί τα cursors μέχρι την τελευταία σελίδα
+export async function collectPages(loadPage) {
+  const all = [];
+  let cursor = null;
+  do {
+    const page = await loadPage(cursor);
+    all.push(...page.items);
+    cursor = page.nextCursor;
+  } while (cursor);
+  return all;
+}
+
 export function httpPut(path, body, params) {
   return request(`${path}${toQuery(params)}`, {
     method: "PUT",
@@ -112,6 +153,7 @@ const http = {
   put: httpPut,
   delete: httpDelete,
   setBasicAuth,
+  setToken,
   clearAuth,
 };
 
@@ -1,8 +1,10 @@
-import http, { httpGet, httpPost } from "./http";
+import http, { collectPages, httpGet, httpGetPage, httpPost, httpPostPage } from "./http";
 
-// λίστα όλων των programs
+const PAGE_SIZE = 100;
+
+// λίστα όλων των programs (σε σελίδες)
 export function fetchPrograms() {
-  return httpGet("/programs");
+  return collectPages((cursor) => httpGetPage("/programs", { cursor, size: PAGE_SIZE }));
 }
 
 // λεπτομέρειες ενός program
@@ -12,8 +14,9 @@ export function fetchProgramById(id) {
 
 // Search programs
 export function searchPrograms(criteria) {
-
-  return httpPost("/programs/search", criteria ?? {});
+  return collectPages((cursor) =>
+    httpPostPage("/programs/search", criteria ?? {}, { cursor, size: PAGE_SIZE })
+  );
 }
 
 // Δημιουργία program
@@ -1,8 +1,12 @@
-import http, { httpGet } from "./http";
+import http, { collectPages, httpGet, httpGetPage, httpPostPage } from "./http";
+
+const PAGE_SIZE = 100;
 
 export function fetchScreenings(programId) {
   if (!programId) return Promise.resolve([]);
-  return httpGet(`/programs/${programId}/screenings`);
+  return collectPages((cursor) =>
+    httpGetPage(`/programs/${programId}/screenings`, { cursor, size: PAGE_SIZE })
+  );
 }
 
 // Φέρνει μία προβολή
@@ -12,13 +16,20 @@ export function fetchScreeningById(programId, screeningId) {
 
 export function searchScreenings(programId, criteria) {
 
-  return http.post(`/programs/${programId}/screenings/search`, criteria ?? {});
+  return collectPages((cursor) =>
+    httpPostPage(`/programs/${programId}/screenings/search`, criteria ?? {}, { cursor, size: PAGE_SIZE })
+  );
 }
 
 export function createScreening(programId, payload) {
   return http.post(`/programs/${programId}/screenings`, payload);
 }
 
+// rows: πίνακας με τα πεδία του createScreening· ένα αποτέλεσμα ανά γραμμή: { row, ok, id, error }
+export function importScreenings(programId, rows) {
+  return http.post(`/programs/${programId}/screenings/import`, rows);
+}
+
 export function updateScreening(programId, screeningId, payload) {
   return http.put(`/programs/${programId}/screenings/${screeningId}`, payload);
 }
@@ -77,3 +88,9 @@ export function finalSubmitScreening(programId, screeningId) {
 export function acceptScreening(programId, screeningId) {
   return http.post(`/programs/${programId}/screenings/${screeningId}/accept`, null);
 }
+
+// items: [{ screeningId, action: "ASSIGN_HANDLER" | "ACCEPT" | "REJECT", handlerUsername?, reason? }]
+// επιστρέφει ένα αποτέλεσμα ανά item: { screeningId, action, ok, state, error }
+export function runScreeningBatch(programId, items) {
+  return http.post(`/programs/${programId}/screenings/batch`, items);
+}
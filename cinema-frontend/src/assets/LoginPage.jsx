@@ -1,7 +1,7 @@
 import { useState } from "react";
 import { useNavigate } from "react-router-dom";
-import { setBasicAuth } from "../api/http.js";
-import { searchPrograms } from "../api/programApi.js";
+import { clearAuth } from "../api/http.js";
+import { login } from "../api/authApi.js";
 
 function getErrMsg(err) {
   if (!err) return "Login failed";
@@ -25,16 +25,13 @@ export default function LoginPage({ onLogin }) {
       return;
     }
 
-    setBasicAuth(username, password);
-
     setLoading(true);
     try {
-
-      await searchPrograms({});
+      await login(username, password);
       onLogin(username);
       nav("/programs");
     } catch (e2) {
-      setBasicAuth(null, null);
+      clearAuth();
       setErr(getErrMsg(e2));
     } finally {
       setLoading(false);
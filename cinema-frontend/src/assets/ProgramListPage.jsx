@@ -3,7 +3,6 @@ import {
   fetchPrograms,
   fetchProgramById,
   changeProgramState,
-  searchPrograms,
 } from "../api/programApi";
 import {
   fetchScreenings,
@@ -11,7 +10,8 @@ import {
   submitScreening,
   withdrawScreening,
 } from "../api/screeningApi";
-import { setBasicAuth } from "../api/http";
+import { clearAuth } from "../api/http";
+import { login } from "../api/authApi";
 import "./App.css";
 
 const NEXT_PROGRAM_STATE = {
@@ -141,24 +141,21 @@ function ProgramListPage() {
       return;
     }
 
-    setBasicAuth(username, password);
-
     try {
-
-      await searchPrograms({});
+      await login(username, password);
 
       setLoggedInUser(username);
       setAuthVersion((v) => v + 1);
     } catch (err) {
       console.error("Login failed", err);
-      setBasicAuth(null, null);
+      clearAuth();
       setLoggedInUser(null);
       setLoginError(getErrMsg(err, "Login failed (λάθος στοιχεία ή 401/403)"));
     }
   };
 
   const handleLogout = () => {
-    setBasicAuth(null, null);
+    clearAuth();
     setLoggedInUser(null);
     setUsername("");
     setPassword("");
@@ -1,4 +1,5 @@
 DROP TABLE IF EXISTS screening;
+DROP SEQUENCE IF EXISTS screening_seq;
 DROP TABLE IF EXISTS program_programmers;
 DROP TABLE IF EXISTS program_staff;
 DROP TABLE IF EXISTS program;
@@ -16,10 +17,13 @@ CREATE TABLE program (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   name VARCHAR(255) NOT NULL,
   description VARCHAR(4000),
+  search_name VARCHAR(255),
+  search_description VARCHAR(4000),
   start_date DATE NOT NULL,
   end_date DATE NOT NULL,
   creation_date TIMESTAMP NOT NULL,
   state VARCHAR(40) NOT NULL,
+  version BIGINT DEFAULT 0 NOT NULL,
   creator_id BIGINT,
   CONSTRAINT fk_program_creator FOREIGN KEY (creator_id) REFERENCES users(id)
 );
@@ -41,7 +45,7 @@ CREATE TABLE program_staff (
 );
 
 CREATE TABLE screening (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   creation_date TIMESTAMP NOT NULL,
   program_id BIGINT NOT NULL,
   state VARCHAR(40) NOT NULL,
@@ -51,6 +55,11 @@ CREATE TABLE screening (
   film_genres VARCHAR(500),
   film_duration_minutes INT NOT NULL,
 
+  search_title VARCHAR(255),
+  search_cast VARCHAR(2000),
+  search_genres VARCHAR(500),
+  search_auditorium VARCHAR(255),
+
   auditorium_name VARCHAR(255),
   start_time TIMESTAMP,
   end_time TIMESTAMP,
@@ -65,12 +74,32 @@ CREATE TABLE screening (
   rejection_reason VARCHAR(4000),
 
   final_submitted BOOLEAN NOT NULL,
+  version BIGINT DEFAULT 0 NOT NULL,
 
   CONSTRAINT fk_screening_program FOREIGN KEY (program_id) REFERENCES program(id) ON DELETE CASCADE,
   CONSTRAINT fk_screening_submitter FOREIGN KEY (submitter_id) REFERENCES users(id),
   CONSTRAINT fk_screening_handler FOREIGN KEY (handler_id) REFERENCES users(id)
 );
 
+CREATE TABLE program_summary (
+  program_id BIGINT PRIMARY KEY,
+  created_count INT DEFAULT 0 NOT NULL,
+  submitted_count INT DEFAULT 0 NOT NULL,
+  reviewed_count INT DEFAULT 0 NOT NULL,
+  approved_count INT DEFAULT 0 NOT NULL,
+  scheduled_count INT DEFAULT 0 NOT NULL,
+  rejected_count INT DEFAULT 0 NOT NULL,
+  programmers_count INT DEFAULT 0 NOT NULL,
+  staff_count INT DEFAULT 0 NOT NULL,
+  auditoriums VARCHAR(4000),
+  version BIGINT DEFAULT 0 NOT NULL,
+  CONSTRAINT fk_summary_program FOREIGN KEY (program_id) REFERENCES program(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_program_start ON program (start_date, id);
+CREATE INDEX idx_screening_program_start ON screening (program_id, start_time, id);
+CREATE INDEX idx_screening_program_genres_title ON screening (program_id, search_genres, search_title, id);
+
 
 INSERT INTO users (id, username, password, role, full_name) VALUES
 (1, 'visitor',   '$2b$10$9uiHH44OCKyhjNPcjk.gfOP8u5QCO5mrfZdmlL2j5jmwG3YutSyre', 'VISITOR',   'Visitor User'),
@@ -80,14 +109,14 @@ INSERT INTO users (id, username, password, role, full_name) VALUES
 (5, 'submitter', '$2b$10$hZZiPt9jGUBtXeCL8r/HbOqwAm/wDHaJ/NUo1lDjEz4ddKzXeEczK', 'SUBMITTER', 'Submitter One');
 
 
-INSERT INTO program (id, name, description, start_date, end_date, creation_date, state, creator_id)
-VALUES (1, 'Submission Program', 'Program in SUBMISSION state', DATE '2026-01-01', DATE '2026-02-01', CURRENT_TIMESTAMP, 'SUBMISSION', 3);
+INSERT INTO program (id, name, description, search_name, search_description, start_date, end_date, creation_date, state, creator_id)
+VALUES (1, 'Submission Program', 'Program in SUBMISSION state', 'submission program', 'program in submission state', DATE '2026-01-01', DATE '2026-02-01', CURRENT_TIMESTAMP, 'SUBMISSION', 3);
 
-INSERT INTO program (id, name, description, start_date, end_date, creation_date, state, creator_id)
-VALUES (2, 'Assignment Program', 'Program in ASSIGNMENT state', DATE '2026-02-10', DATE '2026-03-10', CURRENT_TIMESTAMP, 'ASSIGNMENT', 3);
+INSERT INTO program (id, name, description, search_name, search_description, start_date, end_date, creation_date, state, creator_id)
+VALUES (2, 'Assignment Program', 'Program in ASSIGNMENT state', 'assignment program', 'program in assignment state', DATE '2026-02-10', DATE '2026-03-10', CURRENT_TIMESTAMP, 'ASSIGNMENT', 3);
 
-INSERT INTO program (id, name, description, start_date, end_date, creation_date, state, creator_id)
-VALUES (3, 'Review Program', 'Program in REVIEW state', DATE '2026-03-15', DATE '2026-04-15', CURRENT_TIMESTAMP, 'REVIEW', 3);
+INSERT INTO program (id, name, description, search_name, search_description, start_date, end_date, creation_date, state, creator_id)
+VALUES (3, 'Review Program', 'Program in REVIEW state', 'review program', 'program in review state', DATE '2026-03-15', DATE '2026-04-15', CURRENT_TIMESTAMP, 'REVIEW', 3);
 
 
 INSERT INTO program_programmers (program_id, user_id) VALUES
@@ -100,6 +129,7 @@ INSERT INTO program_staff (program_id, user_id) VALUES
 INSERT INTO screening (
   id, creation_date, program_id, state,
   film_title, film_cast, film_genres, film_duration_minutes,
+  search_title, search_cast, search_genres, search_auditorium,
   auditorium_name, start_time, end_time,
   submitter_id, handler_id,
   review_score, review_comments,
@@ -108,6 +138,7 @@ INSERT INTO screening (
 ) VALUES (
   1, CURRENT_TIMESTAMP, 1, 'CREATED',
   'Inception', 'Leonardo DiCaprio', 'Sci-Fi', 148,
+  'inception', 'leonardo dicaprio', 'sci-fi', 'hall 1',
   'Hall 1', TIMESTAMP '2026-01-15 18:00:00', TIMESTAMP '2026-01-15 20:28:00',
   5, NULL,
   NULL, NULL,
@@ -118,6 +149,7 @@ INSERT INTO screening (
 INSERT INTO screening (
   id, creation_date, program_id, state,
   film_title, film_cast, film_genres, film_duration_minutes,
+  search_title, search_cast, search_genres, search_auditorium,
   auditorium_name, start_time, end_time,
   submitter_id, handler_id,
   review_score, review_comments,
@@ -126,6 +158,7 @@ INSERT INTO screening (
 ) VALUES (
   2, CURRENT_TIMESTAMP, 2, 'SUBMITTED',
   'The Matrix', 'Keanu Reeves', 'Action,Sci-Fi', 136,
+  'the matrix', 'keanu reeves', 'action,sci-fi', 'hall 2',
   'Hall 2', TIMESTAMP '2026-02-20 21:00:00', TIMESTAMP '2026-02-20 23:16:00',
   5, NULL,
   NULL, NULL,
@@ -136,6 +169,7 @@ INSERT INTO screening (
 INSERT INTO screening (
   id, creation_date, program_id, state,
   film_title, film_cast, film_genres, film_duration_minutes,
+  search_title, search_cast, search_genres, search_auditorium,
   auditorium_name, start_time, end_time,
   submitter_id, handler_id,
   review_score, review_comments,
@@ -144,6 +178,7 @@ INSERT INTO screening (
 ) VALUES (
   3, CURRENT_TIMESTAMP, 3, 'REVIEWED',
   'Interstellar', 'Matthew McConaughey', 'Drama,Sci-Fi', 169,
+  'interstellar', 'matthew mcconaughey', 'drama,sci-fi', 'hall 3',
   'Hall 3', TIMESTAMP '2026-03-20 19:00:00', TIMESTAMP '2026-03-20 21:49:00',
   5, 4,
   8, 'Strong recommendation',
@@ -152,6 +187,13 @@ INSERT INTO screening (
 );
 
 
+INSERT INTO program_summary (program_id, created_count, submitted_count, reviewed_count, approved_count,
+  scheduled_count, rejected_count, programmers_count, staff_count, auditoriums) VALUES
+(1, 1, 0, 0, 0, 0, 0, 1, 1, ''),
+(2, 0, 1, 0, 0, 0, 0, 1, 1, ''),
+(3, 0, 0, 1, 0, 0, 0, 1, 1, '');
+
+
 ALTER TABLE program ALTER COLUMN id RESTART WITH 1000;
-ALTER TABLE screening ALTER COLUMN id RESTART WITH 1000;
+CREATE SEQUENCE screening_seq START WITH 1000 INCREMENT BY 50;
 ALTER TABLE users ALTER COLUMN id RESTART WITH 1000;
@@ -21,14 +21,6 @@ $body1 = @'
 }
 '@
 
-Invoke-RestMethod `
-  -Uri "http://localhost:8080/api/programs/$progId/screenings" `
-  -Method POST `
-  -Headers $headers `
-  -Body $body1
-
-
-
 $body2 = @'
 {
   "filmTitle": "Psycho",
@@ -42,7 +34,7 @@ $body2 = @'
 '@
 
 Invoke-RestMethod `
-  -Uri "http://localhost:8080/api/programs/$progId/screenings" `
+  -Uri "http://localhost:8080/api/programs/$progId/screenings/import" `
   -Method POST `
   -Headers $headers `
-  -Body $body2
+  -Body "[$body1,$body2]"
@@ -0,0 +1,32 @@
+package cinema.backend.config;
+
+import cinema.backend.ratelimit.InProcessRateLimiterBackend;
+import cinema.backend.ratelimit.JdbcRateLimiterBackend;
+import cinema.backend.ratelimit.RateLimiterBackend;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiterBackend rateLimiterBackend(RateLimitProperties properties) {
+        if (properties.getBackend() != RateLimitProperties.Backend.JDBC) {
+            return new InProcessRateLimiterBackend();
+        }
+
+        RateLimitProperties.Jdbc jdbc = properties.getJdbc();
+        // ξεχωριστό pool από το κύριο datasource, δεν εκτίθεται ως bean
+        DataSource dataSource = DataSourceBuilder.create()
+                .url(jdbc.getUrl())
+                .username(jdbc.getUsername())
+                .password(jdbc.getPassword())
+                .build();
+        return new JdbcRateLimiterBackend(dataSource, jdbc.getSyncInterval(), jdbc.getMaxKeys());
+    }
+}
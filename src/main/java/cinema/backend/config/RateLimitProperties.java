@@ -0,0 +1,71 @@
+package cinema.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cinema.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // LOCAL: μετρητές ανά node, JDBC: κοινοί μετρητές για όλο το cluster
+    private Backend backend = Backend.LOCAL;
+
+    private Jdbc jdbc = new Jdbc();
+
+    // πόσοι δικοί μας proxies/load balancers προσθέτουν εγγραφή στο X-Forwarded-For (0 = αγνοείται το header)
+    private int forwardedHops = 0;
+
+    private List<Policy> policies = new ArrayList<>();
+
+    public enum Backend {
+        LOCAL,
+        JDBC
+    }
+
+    public enum KeyType {
+        IP,
+        PRINCIPAL
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        private String name;
+
+        // null = όλες οι μέθοδοι
+        private String method;
+
+        private String pattern;
+
+        private int limit;
+
+        private Duration window;
+
+        // PRINCIPAL: ανά χρήστη όταν υπάρχει login, αλλιώς ανά IP
+        private KeyType key = KeyType.IP;
+    }
+
+    @Getter
+    @Setter
+    public static class Jdbc {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private Duration syncInterval = Duration.ofMillis(200);
+
+        private int maxKeys = 100_000;
+    }
+}
@@ -1,5 +1,12 @@
 package cinema.backend.config;
 
+import cinema.backend.ratelimit.RateLimiterBackend;
+import cinema.backend.security.AuthenticationCache;
+import cinema.backend.security.CachingAuthenticationProvider;
+import cinema.backend.security.RateLimitFilter;
+import cinema.backend.security.TokenAuthenticationFilter;
+import cinema.backend.security.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,6 +20,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -24,14 +32,21 @@ import java.util.List;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationManager authenticationManager,
+                                                   TokenService tokenService,
+                                                   RateLimitProperties rateLimitProperties,
+                                                   RateLimiterBackend rateLimiterBackend,
+                                                   ObjectMapper objectMapper) throws Exception {
         http
+                .authenticationManager(authenticationManager)
                 .cors(Customizer.withDefaults())
                 .csrf(csrf -> csrf.disable())
 
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
 
                         // Public view
                         .requestMatchers(HttpMethod.GET, "/api/programs/**").permitAll()
@@ -44,7 +59,13 @@ public class SecurityConfig {
                 )
 
 
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
                 .httpBasic(Customizer.withDefaults())
+                // IP πολιτικές πριν από token και Basic, ώστε ένα flood να μην πληρώνει BCrypt· PRINCIPAL μετά το authentication
+                .addFilterBefore(new RateLimitFilter(rateLimitProperties, rateLimiterBackend, objectMapper,
+                        RateLimitProperties.KeyType.IP), TokenAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimitProperties, rateLimiterBackend, objectMapper,
+                        RateLimitProperties.KeyType.PRINCIPAL), BasicAuthenticationFilter.class)
 
                 .logout(Customizer.withDefaults())
 
@@ -65,7 +86,7 @@ public class SecurityConfig {
 
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept"));
-        config.setExposedHeaders(List.of("Authorization"));
+        config.setExposedHeaders(List.of("Authorization", "Retry-After", "X-RateLimit-Limit", "X-RateLimit-Remaining", "X-Next-Cursor"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -81,11 +102,12 @@ public class SecurityConfig {
     @Bean
     public AuthenticationManager authenticationManager(
             UserDetailsService userDetailsService,
-            PasswordEncoder passwordEncoder
+            PasswordEncoder passwordEncoder,
+            AuthenticationCache authenticationCache
     ) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder);
-        return new ProviderManager(provider);
+        return new ProviderManager(new CachingAuthenticationProvider(provider, authenticationCache));
     }
 }
@@ -1,24 +1,43 @@
 package cinema.backend.controller;
 
+import cinema.backend.dto.user.AuthResponseDto;
+import cinema.backend.dto.user.LoginRequest;
+import cinema.backend.exception.UnauthorizedException;
 import cinema.backend.model.Role;
 import cinema.backend.model.User;
 import cinema.backend.repository.UserRepository;
+import cinema.backend.security.CustomUserDetails;
+import cinema.backend.security.TokenService;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Set;
 
 @Controller
 public class AuthController {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
 
     public AuthController(UserRepository userRepository,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordEncoder passwordEncoder,
+                          AuthenticationManager authenticationManager,
+                          TokenService tokenService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.authenticationManager = authenticationManager;
+        this.tokenService = tokenService;
     }
 
     @GetMapping("/login")
@@ -50,4 +69,29 @@ public class AuthController {
 
         return "redirect:/login?registered";
     }
+
+    // Token login: τα επόμενα requests στέλνουν "Authorization: Bearer <token>" και δεν ξανατρέχουν BCrypt.
+    @PostMapping("/api/auth/login")
+    @ResponseBody
+    public AuthResponseDto login(@RequestBody LoginRequest request) {
+        if (request.getUsername() == null || request.getPassword() == null) {
+            throw new UnauthorizedException("Username and password are required");
+        }
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword()));
+        } catch (AuthenticationException ex) {
+            throw new UnauthorizedException("Invalid username or password");
+        }
+
+        User user = ((CustomUserDetails) authentication.getPrincipal()).getUser();
+        TokenService.IssuedToken issued = tokenService.issue(user);
+
+        AuthResponseDto dto = new AuthResponseDto(user.getUsername(), Set.of(user.getRole().name()), user.getFullName());
+        dto.setToken(issued.token());
+        dto.setExpiresAt(issued.expiresAt());
+        return dto;
+    }
 }
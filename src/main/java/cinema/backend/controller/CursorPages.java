@@ -0,0 +1,46 @@
+package cinema.backend.controller;
+
+import cinema.backend.dto.CursorPage;
+import cinema.backend.schedule.PublicSchedule;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+// Κοινά των λιστών με keyset σελίδες: όριο μεγέθους και το cursor της επόμενης στο X-Next-Cursor
+final class CursorPages {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private CursorPages() {
+
+    }
+
+    static int pageSize(int requested) {
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    // Το body μένει JSON array· το cursor της επόμενης σελίδας πηγαίνει στο X-Next-Cursor
+    static ResponseEntity<List<?>> withCursor(CursorPage<?> page, List<?> body) {
+        return cursorResponse(page).body(body);
+    }
+
+    // σελίδα από το snapshot: το Age λέει πόσα δευτερόλεπτα έχουν περάσει από το build του
+    static ResponseEntity<List<?>> withCursor(CursorPage<?> page, List<?> body, PublicSchedule schedule) {
+        return cursorResponse(page)
+                .header(HttpHeaders.AGE, String.valueOf(schedule.age().toSeconds()))
+                .body(body);
+    }
+
+    private static ResponseEntity.BodyBuilder cursorResponse(CursorPage<?> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(ScreeningController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,50 @@
+package cinema.backend.controller;
+
+import cinema.backend.repository.VersionSummary;
+import cinema.backend.schedule.PublicSchedule;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.StringJoiner;
+
+// Conditional GET πάνω στα version columns: το ETag χτίζεται από φτηνά lookups πριν φορτωθεί οτιδήποτε άλλο.
+final class ETags {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ETags() {
+
+    }
+
+    static String of(Object... parts) {
+        StringJoiner etag = new StringJoiner("-", "\"", "\"");
+        for (Object part : parts) {
+            if (part instanceof VersionSummary summary) {
+                etag.add(String.valueOf(summary.getCount()))
+                        .add(String.valueOf(summary.getVersions()))
+                        .add(String.valueOf(summary.getIds()));
+            } else {
+                etag.add(String.valueOf(part));
+            }
+        }
+        return etag.toString();
+    }
+
+    static String of(PublicSchedule schedule) {
+        return of("schedule", schedule.builtAt().toEpochMilli());
+    }
+
+    // true όταν το If-None-Match ταιριάζει: η απάντηση είναι ήδη 304 και ο controller επιστρέφει null
+    static boolean notModified(ServletWebRequest request, String etag) {
+        // ο browser ξαναρωτά πάντα, αλλά με If-None-Match (το default του Spring Security είναι no-store)
+        return notModified(request, etag, CACHE_CONTROL);
+    }
+
+    static boolean notModified(ServletWebRequest request, String etag, String cacheControl) {
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return request.checkNotModified(etag);
+    }
+}
@@ -1,19 +1,32 @@
 package cinema.backend.controller;
 
+import cinema.backend.dto.CursorPage;
 import cinema.backend.dto.program.*;
 import cinema.backend.mapper.ProgramMapper;
 import cinema.backend.model.Program;
 import cinema.backend.model.ProgramState;
+import cinema.backend.model.Role;
+import cinema.backend.model.User;
+import cinema.backend.repository.ProgramCursor;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.schedule.PublicSchedule;
+import cinema.backend.schedule.PublicScheduleSnapshot;
 import cinema.backend.service.ProgramService;
-import cinema.backend.util.RateLimiter;
-import jakarta.servlet.http.HttpServletRequest;
+import cinema.backend.service.ScreeningService;
+import cinema.backend.service.UserService;
+import cinema.backend.summary.ProgramSummaries;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.time.Duration;
 import java.util.List;
-import java.util.stream.Collectors;
+
+import static cinema.backend.controller.CursorPages.DEFAULT_PAGE_SIZE;
+import static cinema.backend.controller.CursorPages.pageSize;
+import static cinema.backend.controller.CursorPages.withCursor;
 
 @RestController
 @RequestMapping("/api/programs")
@@ -21,35 +34,65 @@ import java.util.stream.Collectors;
 public class ProgramController {
 
     private final ProgramService programService;
+    private final ScreeningService screeningService;
+    private final UserService userService;
+    private final PublicScheduleSnapshot publicSchedule;
+    private final ProgramSummaries programSummaries;
 
     // LIST
     @GetMapping
-    public List<ProgramPublicDto> getAllPrograms() {
-        return programService.getAllPrograms()
-                .stream()
-                .map(ProgramMapper::toPublicDto)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<?>> getAllPrograms(@RequestParam(value = "cursor", required = false) String cursor,
+                                                  @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                                  ServletWebRequest request) {
+        User current = userService.getOrCreateCurrentUser();
+
+        // VISITOR / USER βλέπουν μόνο τα ANNOUNCED: απευθείας από το snapshot, χωρίς βάση
+        PublicSchedule schedule = publicSchedule.current();
+        if (schedule != null && seesOnlyAnnounced(current)) {
+            if (ETags.notModified(request, ETags.of(schedule))) {
+                return null;
+            }
+            ProgramCursor after = (cursor == null || cursor.isBlank()) ? null : ProgramCursor.decode(cursor);
+            CursorPage<ProgramPublicDto> page = schedule.programsPage(after, pageSize(size));
+            return withCursor(page, page.items(), schedule);
+        }
+
+        // οι λίστες (programmers, auditoriums) και η ορατότητα εξαρτώνται και από τα screenings·
+        // κάθε αλλαγή τους περνά από το ProgramSummary του program, μία γραμμή ανά program
+        String etag = ETags.of("programs", programService.getProgramsVersion(),
+                programSummaries.versions(), current.getId());
+        if (ETags.notModified(request, etag)) {
+            return null;
+        }
+        CursorPage<ProgramPublicDto> page = programService.getProgramsPage(cursor, pageSize(size));
+        return withCursor(page, page.items());
     }
 
     // SEARCH
     @PostMapping("/search")
-    public List<ProgramPublicDto> searchPrograms(@RequestBody ProgramSearchRequest criteria,
-                                                 HttpServletRequest request) {
-        RateLimiter.checkRate("program-search:" + request.getRemoteAddr(), 10, Duration.ofSeconds(10));
-
-        return programService.searchPrograms(criteria)
-                .stream()
-                .map(ProgramMapper::toPublicDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<?>> searchPrograms(@RequestBody ProgramSearchRequest criteria,
+                                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                                  @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        CursorPage<ProgramPublicDto> page = programService.searchPrograms(criteria, cursor, pageSize(size));
+        return withCursor(page, page.items());
     }
 
     // GET BY ID
     @GetMapping("/{id}")
-    public Object getProgramById(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public Object getProgramById(@PathVariable Long id, ServletWebRequest request) {
+        // ελέγχει ορατότητα με ένα projection· το screeningsCount του DTO καλύπτεται από τα versions των screenings
+        ProgramRepository.ProgramVersion version = programService.getProgramVersion(id);
+        if (ETags.notModified(request, ETags.of("program", id, version.getVersion(),
+                screeningService.getScreeningsVersion(id)))) {
+            return null;
+        }
+
         Program program = programService.getProgramById(id);
         // service already enforces visibility; controller can return details always,
         // but keep as you want (public vs details).
-        return ProgramMapper.toDetailsDto(program);
+        return details(program);
     }
 
     // CREATE
@@ -58,7 +101,7 @@ public class ProgramController {
     public ProgramDetailsDto createProgram(@RequestBody ProgramCreateRequest request) {
         Program program = ProgramMapper.fromCreateRequest(request);
         Program saved = programService.createProgram(program);
-        return ProgramMapper.toDetailsDto(saved);
+        return details(saved);
     }
 
     // UPDATE
@@ -68,7 +111,7 @@ public class ProgramController {
         Program existing = programService.getProgramById(id);
         ProgramMapper.updateProgramFromRequest(request, existing);
         Program updated = programService.updateProgram(id, existing);
-        return ProgramMapper.toDetailsDto(updated);
+        return details(updated);
     }
 
     // DELETE
@@ -83,14 +126,14 @@ public class ProgramController {
     public ProgramDetailsDto addProgrammer(@PathVariable Long id,
                                            @PathVariable String username) {
         Program updated = programService.addProgrammer(id, username);
-        return ProgramMapper.toDetailsDto(updated);
+        return details(updated);
     }
 
     @PostMapping("/{id}/staff/{username}")
     public ProgramDetailsDto addStaff(@PathVariable Long id,
                                       @PathVariable String username) {
         Program updated = programService.addStaff(id, username);
-        return ProgramMapper.toDetailsDto(updated);
+        return details(updated);
     }
 
     // STATE
@@ -98,6 +141,14 @@ public class ProgramController {
     public ProgramDetailsDto changeProgramState(@PathVariable Long id,
                                                 @RequestParam("newState") ProgramState newState) {
         Program updated = programService.changeProgramState(id, newState);
-        return ProgramMapper.toDetailsDto(updated);
+        return details(updated);
+    }
+
+    private ProgramDetailsDto details(Program program) {
+        return ProgramMapper.toDetailsDto(program, programSummaries.forProgram(program.getId()));
+    }
+
+    private static boolean seesOnlyAnnounced(User current) {
+        return current.getRole() == null || current.getRole() == Role.VISITOR || current.getRole() == Role.USER;
     }
 }
@@ -0,0 +1,103 @@
+package cinema.backend.controller;
+
+import cinema.backend.exception.NotFoundException;
+import cinema.backend.schedule.ScheduleFeeds;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Locale;
+
+// Feeds του δημόσιου προγράμματος για partner sites / kiosks που κάνουν polling.
+@RestController
+@RequestMapping("/api/programs/{programId}")
+public class ScheduleFeedController {
+
+    // δημόσια δεδομένα: cacheable και από proxies, αλλά πάντα με revalidation (φτηνό 304)
+    private static final String FEED_CACHE_CONTROL = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private final ScheduleFeeds scheduleFeeds;
+
+    public ScheduleFeedController(ScheduleFeeds scheduleFeeds) {
+        this.scheduleFeeds = scheduleFeeds;
+    }
+
+    @GetMapping("/feed.ics")
+    public ResponseEntity<byte[]> calendar(@PathVariable Long programId,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                           ServletWebRequest request) {
+        return serve(programId, ScheduleFeeds.Format.ICALENDAR, acceptEncoding, request);
+    }
+
+    @GetMapping("/feed.ndjson")
+    public ResponseEntity<byte[]> ndjson(@PathVariable Long programId,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                         ServletWebRequest request) {
+        return serve(programId, ScheduleFeeds.Format.NDJSON, acceptEncoding, request);
+    }
+
+    private ResponseEntity<byte[]> serve(Long programId, ScheduleFeeds.Format format, String acceptEncoding,
+                                         ServletWebRequest request) {
+        ScheduleFeeds.Feed feed = scheduleFeeds.feed(programId, format);
+        if (feed == null) {
+            throw new NotFoundException("No published schedule for program " + programId);
+        }
+
+        // η gzip μορφή είναι ήδη έτοιμη· διαφορετικό ETag ανά encoding
+        boolean gzip = acceptsGzip(acceptEncoding);
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (ETags.notModified(request, gzip ? feed.gzippedEtag() : feed.etag(), FEED_CACHE_CONTROL)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(feed.mediaType());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? feed.gzipped() : feed.body());
+    }
+
+    // Accept-Encoding με q-values: το gzip (ή x-gzip) όπως δηλώθηκε, αλλιώς ό,τι λέει το "*".
+    // q=0 σημαίνει "όχι"· χωρίς header ή με άκυρο q στέλνουμε το απλό body.
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) return false;
+
+        Double gzip = null;
+        Double any = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    q = quality(param.substring(2).trim());
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = (gzip == null) ? q : Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        if (gzip != null) return gzip > 0;
+        return any != null && any > 0;
+    }
+
+    private static double quality(String value) {
+        try {
+            double q = Double.parseDouble(value);
+            return (q >= 0 && q <= 1) ? q : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
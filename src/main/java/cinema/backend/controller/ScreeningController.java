@@ -1,126 +1,190 @@
 package cinema.backend.controller;
 
+import cinema.backend.dto.CursorPage;
 import cinema.backend.dto.screening.*;
+import cinema.backend.exception.BadRequestException;
 import cinema.backend.exception.ForbiddenException;
 import cinema.backend.mapper.ScreeningMapper;
-import cinema.backend.model.Program;
 import cinema.backend.model.ProgramState;
 import cinema.backend.model.Role;
 import cinema.backend.model.Screening;
 import cinema.backend.model.ScreeningState;
 import cinema.backend.model.User;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.ScreeningCursor;
+import cinema.backend.repository.ScreeningRepository;
+import cinema.backend.repository.ScreeningRepositoryCustom.VisibleScreening;
+import cinema.backend.schedule.PublicSchedule;
+import cinema.backend.schedule.PublicScheduleSnapshot;
+import cinema.backend.security.ProgramAccessIndex;
 import cinema.backend.service.ProgramService;
 import cinema.backend.service.ScreeningService;
 import cinema.backend.service.UserService;
-import cinema.backend.util.RateLimiter;
-import jakarta.servlet.http.HttpServletRequest;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.Duration;
-import java.util.Comparator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import static cinema.backend.controller.CursorPages.DEFAULT_PAGE_SIZE;
+import static cinema.backend.controller.CursorPages.pageSize;
+import static cinema.backend.controller.CursorPages.withCursor;
+
 @RestController
 @RequestMapping("/api/programs/{programId}/screenings")
 public class ScreeningController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final int STREAM_FLUSH_ROWS = 100;
+
     private final ScreeningService screeningService;
     private final UserService userService;
     private final ProgramService programService;
+    private final ProgramAccessIndex programAccessIndex;
+    private final PublicScheduleSnapshot publicSchedule;
+    private final ObjectMapper objectMapper;
 
-    public ScreeningController(ScreeningService screeningService, UserService userService, ProgramService programService) {
+    public ScreeningController(ScreeningService screeningService, UserService userService, ProgramService programService,
+                               ProgramAccessIndex programAccessIndex, PublicScheduleSnapshot publicSchedule,
+                               ObjectMapper objectMapper) {
         this.screeningService = screeningService;
         this.userService = userService;
         this.programService = programService;
+        this.programAccessIndex = programAccessIndex;
+        this.publicSchedule = publicSchedule;
+        this.objectMapper = objectMapper;
     }
 
     // LIST
     @GetMapping
-    public List<?> getScreenings(@PathVariable Long programId) {
-        Program program = programService.getProgramById(programId);
+    public ResponseEntity<List<?>> getScreenings(@PathVariable Long programId,
+                                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                                 @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                                 ServletWebRequest request) {
         User currentUser = userService.getOrCreateCurrentUser();
 
         boolean isVisitor = (currentUser.getRole() == null || currentUser.getRole() == Role.VISITOR);
 
-        boolean isProgrammer = program.getProgrammers() != null &&
-                program.getProgrammers().stream().anyMatch(u -> u.getId().equals(currentUser.getId()));
-
-        boolean isStaffInProgram = program.getStaff() != null &&
-                program.getStaff().stream().anyMatch(u -> u.getId().equals(currentUser.getId()));
-
-        List<Screening> all = screeningService.getAllForProgram(programId).stream()
-                .sorted(Comparator.comparing(Screening::getStartTime,
-                        Comparator.nullsLast(Comparator.naturalOrder())))
-                .collect(Collectors.toList());
-
-        // VISITOR
-        if (isVisitor) {
-            return all.stream()
-                    .filter(s -> program.getState() == ProgramState.ANNOUNCED && s.getState() == ScreeningState.SCHEDULED)
-                    .map(ScreeningMapper::toPublicDto)
-                    .collect(Collectors.toList());
+        // VISITOR σε ANNOUNCED program: από το snapshot του δημόσιου προγράμματος, χωρίς βάση
+        PublicSchedule schedule = publicSchedule.current();
+        if (isVisitor && schedule != null && schedule.contains(programId)) {
+            if (ETags.notModified(request, ETags.of(schedule))) {
+                return null;
+            }
+            CursorPage<ScreeningPublicDto> page = schedule.screeningsPage(programId,
+                    decodeCursor(cursor), pageSize(size));
+            return withCursor(page, page.items(), schedule);
         }
 
-        // PROGRAMMER
-        if (isProgrammer) {
-            return all.stream().map(ScreeningMapper::toDetailsDto).collect(Collectors.toList());
+        // ελέγχει και ότι ο χρήστης βλέπει το program· το ETag βγαίνει από τα versions πριν φορτωθούν γραμμές
+        ProgramRepository.ProgramVersion program = programService.getProgramVersion(programId);
+        String etag = ETags.of("screenings", programId, program.getVersion(),
+                screeningService.getScreeningsVersion(programId), currentUser.getId());
+        if (ETags.notModified(request, etag)) {
+            return null;
         }
 
-        // STAFF / SUBMITTER / USER
-        return all.stream().map(s -> {
-            boolean isSubmitter = s.getSubmitter() != null && s.getSubmitter().getId().equals(currentUser.getId());
-            boolean isAssignedStaff = s.getHandler() != null && s.getHandler().getId().equals(currentUser.getId());
-
-
-            if (isAssignedStaff || isSubmitter) {
-                return ScreeningMapper.toDetailsDto(s);
-            }
-
-
-            if (isStaffInProgram) {
-                return ScreeningMapper.toPublicDto(s);
-            }
+        // VISITOR: μόνο δημόσιες στήλες, κατευθείαν σε DTO
+        if (isVisitor) {
+            CursorPage<ScreeningPublicDto> page = screeningService.getPublicScreeningsPage(programId, cursor, pageSize(size));
+            return withCursor(page, page.items());
+        }
 
+        // PROGRAMMER / STAFF / SUBMITTER / USER: η βάση επιστρέφει μόνο τις ορατές γραμμές, με την όψη της καθεμιάς
+        CursorPage<VisibleScreening> page = screeningService.getScreeningsPage(programId, cursor, pageSize(size));
 
-            if (program.getState() == ProgramState.ANNOUNCED && s.getState() == ScreeningState.SCHEDULED) {
-                return ScreeningMapper.toPublicDto(s);
-            }
+        return withCursor(page, page.items().stream()
+                .map(row -> row.view() == ScreeningView.DETAILS
+                        ? ScreeningMapper.toDetailsDto(row.screening())
+                        : ScreeningMapper.toPublicDto(row.screening()))
+                .collect(Collectors.toList()));
+    }
 
+    // STREAM: όλη η ορατή λίστα σε ένα JSON array, γραμμένο όσο διαβάζονται οι γραμμές
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamScreenings(@PathVariable Long programId) {
+        // ο έλεγχος γίνεται πριν ξεκινήσει το body, ώστε το 403 να φτάνει ως status
+        programService.getProgramVersion(programId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonArray(write -> screeningService.forEachScreening(programId, row ->
+                        write.accept(row.view() == ScreeningView.DETAILS
+                                ? ScreeningMapper.toDetailsDto(row.screening())
+                                : ScreeningMapper.toPublicDto(row.screening())))));
+    }
 
-            return null;
-        }).filter(x -> x != null).collect(Collectors.toList());
+    // EXPORT: όλα τα screenings του program με details, για τον programmer
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportScreenings(@PathVariable Long programId) {
+        // ο έλεγχος γίνεται πριν ξεκινήσει το body, ώστε το 403 να φτάνει ως status
+        screeningService.checkCanExport(programId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("program-" + programId + "-screenings.json").build().toString())
+                .body(jsonArray(write -> screeningService.exportScreenings(programId,
+                        screening -> write.accept(ScreeningMapper.toDetailsDto(screening)))));
     }
 
     // DETAILS
     @GetMapping("/{screeningId}")
+    @Transactional(readOnly = true)
     public Object getScreening(@PathVariable Long programId,
-                               @PathVariable Long screeningId) {
-        Screening screening = screeningService.getScreeningById(screeningId);
+                               @PathVariable Long screeningId,
+                               ServletWebRequest request) {
+        ScreeningRepository.ScreeningVersion version = screeningService.getScreeningVersion(screeningId);
 
-        if (screening.getProgram() == null || !screening.getProgram().getId().equals(programId)) {
+        if (!programId.equals(version.getProgramId())) {
             throw new IllegalArgumentException("Screening " + screeningId + " does not belong to program " + programId);
         }
 
-        User currentUser = userService.getOrCreateCurrentUser();
+        ScreeningView view = viewOf(version, userService.getOrCreateCurrentUser());
+        if (ETags.notModified(request, ETags.of("screening", screeningId, version.getVersion(), view))) {
+            return null;
+        }
+
+        Screening screening = screeningService.getScreeningById(screeningId);
+        return view == ScreeningView.DETAILS
+                ? ScreeningMapper.toDetailsDto(screening)
+                : ScreeningMapper.toPublicDto(screening);
+    }
 
-        boolean isProgrammer = screening.getProgram().getProgrammers() != null &&
-                screening.getProgram().getProgrammers().stream().anyMatch(u -> u.getId().equals(currentUser.getId()));
+    private ScreeningView viewOf(ScreeningRepository.ScreeningVersion screening, User currentUser) {
+        boolean isProgrammer = programAccessIndex.isProgrammer(screening.getProgramId(), currentUser.getId());
 
-        boolean isSubmitter = screening.getSubmitter() != null &&
-                screening.getSubmitter().getId().equals(currentUser.getId());
+        boolean isSubmitter = screening.getSubmitterId() != null &&
+                screening.getSubmitterId().equals(currentUser.getId());
 
-        boolean isAssignedStaff = screening.getHandler() != null &&
-                screening.getHandler().getId().equals(currentUser.getId());
+        boolean isAssignedStaff = screening.getHandlerId() != null &&
+                screening.getHandlerId().equals(currentUser.getId());
 
         if (isProgrammer || isSubmitter || isAssignedStaff) {
-            return ScreeningMapper.toDetailsDto(screening);
+            return ScreeningView.DETAILS;
         }
 
-        if (screening.getProgram().getState() == ProgramState.ANNOUNCED &&
+        if (screening.getProgramState() == ProgramState.ANNOUNCED &&
                 screening.getState() == ScreeningState.SCHEDULED) {
-            return ScreeningMapper.toPublicDto(screening);
+            return ScreeningView.PUBLIC;
         }
 
         throw new ForbiddenException("You are not allowed to view this screening");
@@ -135,6 +199,38 @@ public class ScreeningController {
         return ScreeningMapper.toDetailsDto(saved);
     }
 
+    // IMPORT: JSON array ή NDJSON με τα πεδία του create, διαβασμένο γραμμή-γραμμή από το body
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public List<ScreeningImportResult> importScreenings(@PathVariable Long programId,
+                                                       InputStream body) throws IOException {
+        try (MappingIterator<ScreeningCreateRequest> rows =
+                     objectMapper.readerFor(ScreeningCreateRequest.class).readValues(body)) {
+            return screeningService.importScreenings(programId, new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    try {
+                        return rows.hasNextValue();
+                    } catch (IOException e) {
+                        throw malformed(e);
+                    }
+                }
+
+                // στοιχείο που διαβάζεται αλλά δεν γίνεται map (και το null): αποτυχημένη γραμμή,
+                // το MappingIterator προσπερνά το υπόλοιπο στοιχείο και συνεχίζει στο επόμενο
+                @Override
+                public Screening next() {
+                    try {
+                        return ScreeningMapper.fromCreateRequest(rows.nextValue());
+                    } catch (JsonMappingException e) {
+                        throw new IllegalArgumentException("Invalid screening: " + e.getOriginalMessage());
+                    } catch (IOException e) {
+                        throw malformed(e);
+                    }
+                }
+            });
+        }
+    }
+
     @PutMapping("/{screeningId}")
     public ScreeningDetailsDto updateScreening(@PathVariable Long programId,
                                                @PathVariable Long screeningId,
@@ -153,9 +249,7 @@ public class ScreeningController {
 
     @PostMapping("/{screeningId}/submit")
     public ScreeningDetailsDto submitScreening(@PathVariable Long programId,
-                                               @PathVariable Long screeningId,
-                                               HttpServletRequest request) {
-        RateLimiter.checkRate("screening-submit:" + request.getRemoteAddr(), 5, Duration.ofSeconds(10));
+                                               @PathVariable Long screeningId) {
         Screening result = screeningService.submitScreening(screeningId);
         return ScreeningMapper.toDetailsDto(result);
     }
@@ -195,9 +289,7 @@ public class ScreeningController {
 
     @PostMapping("/{screeningId}/final-submit")
     public ScreeningDetailsDto finalSubmitScreening(@PathVariable Long programId,
-                                                    @PathVariable Long screeningId,
-                                                    HttpServletRequest request) {
-        RateLimiter.checkRate("screening-final-submit:" + request.getRemoteAddr(), 5, Duration.ofSeconds(10));
+                                                    @PathVariable Long screeningId) {
         Screening result = screeningService.finalSubmitScreening(screeningId);
         return ScreeningMapper.toDetailsDto(result);
     }
@@ -209,21 +301,60 @@ public class ScreeningController {
         return ScreeningMapper.toDetailsDto(result);
     }
 
+    // BATCH: assign-handler / accept / reject για πολλά screenings σε ένα transaction
+    @PostMapping("/batch")
+    public List<ScreeningBatchResult> runBatch(@PathVariable Long programId,
+                                               @RequestBody List<ScreeningBatchItem> items) {
+        return screeningService.runBatch(programId, items);
+    }
+
     // SEARCH
     @PostMapping("/search")
-    public List<?> searchScreenings(@PathVariable Long programId,
-                                    @RequestBody ScreeningSearchRequest criteria,
-                                    HttpServletRequest request) {
-        RateLimiter.checkRate("screening-search:" + request.getRemoteAddr(), 10, Duration.ofSeconds(10));
-
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<?>> searchScreenings(@PathVariable Long programId,
+                                                    @RequestBody ScreeningSearchRequest criteria,
+                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
         User currentUser = userService.getOrCreateCurrentUser();
         boolean isVisitor = (currentUser.getRole() == null || currentUser.getRole() == Role.VISITOR);
 
-        List<Screening> list = screeningService.searchScreenings(programId, criteria);
-
         if (isVisitor) {
-            return list.stream().map(ScreeningMapper::toPublicDto).collect(Collectors.toList());
+            CursorPage<ScreeningPublicDto> page = screeningService.searchPublicScreenings(programId, criteria, cursor, pageSize(size));
+            return withCursor(page, page.items());
         }
-        return list.stream().map(ScreeningMapper::toDetailsDto).collect(Collectors.toList());
+
+        CursorPage<Screening> page = screeningService.searchScreenings(programId, criteria, cursor, pageSize(size));
+        return withCursor(page, page.items().stream().map(ScreeningMapper::toDetailsDto).collect(Collectors.toList()));
+    }
+
+    // χαλασμένο JSON δεν επιτρέπει να βρεθεί η επόμενη γραμμή: απορρίπτεται όλο το import
+    private static BadRequestException malformed(IOException e) {
+        String message = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+        return new BadRequestException("Malformed screening JSON: " + message);
+    }
+
+    // Κάθε DTO γράφεται μόλις γίνει map· flush μετά την πρώτη γραμμή και ανά STREAM_FLUSH_ROWS
+    private StreamingResponseBody jsonArray(Consumer<Consumer<Object>> rows) {
+        return out -> {
+            try (JsonGenerator json = objectMapper.createGenerator(out)) {
+                json.writeStartArray();
+                int[] written = {0};
+                rows.accept(dto -> {
+                    try {
+                        json.writeObject(dto);
+                        if (++written[0] % STREAM_FLUSH_ROWS == 1) {
+                            json.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
+    }
+
+    private static ScreeningCursor decodeCursor(String cursor) {
+        return (cursor == null || cursor.isBlank()) ? null : ScreeningCursor.decode(cursor, ScreeningCursor.Order.START_TIME);
     }
 }
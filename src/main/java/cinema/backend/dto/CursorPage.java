@@ -0,0 +1,7 @@
+package cinema.backend.dto;
+
+import java.util.List;
+
+// Μια σελίδα αποτελεσμάτων και το cursor της επόμενης (null όταν δεν υπάρχει άλλη)
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
@@ -22,6 +22,10 @@ public class ProgramDetailsDto {
     private Integer staffCount;
     private Integer screeningsCount;
 
+    private java.util.Map<String, Integer> screeningCounts;
+
+    private java.util.List<String> auditoriums;
+
 
     public Long getId() {
         return id;
@@ -126,4 +130,20 @@ public class ProgramDetailsDto {
     public void setScreeningsCount(Integer screeningsCount) {
         this.screeningsCount = screeningsCount;
     }
+
+    public java.util.Map<String, Integer> getScreeningCounts() {
+        return screeningCounts;
+    }
+
+    public void setScreeningCounts(java.util.Map<String, Integer> screeningCounts) {
+        this.screeningCounts = screeningCounts;
+    }
+
+    public java.util.List<String> getAuditoriums() {
+        return auditoriums;
+    }
+
+    public void setAuditoriums(java.util.List<String> auditoriums) {
+        this.auditoriums = auditoriums;
+    }
 }
@@ -1,5 +1,7 @@
 package cinema.backend.dto.program;
 
+import cinema.backend.model.ProgramState;
+
 import java.time.LocalDate;
 
 public class ProgramPublicDto {
@@ -17,6 +19,20 @@ public class ProgramPublicDto {
 
     private java.util.List<String> auditoriums;
 
+    public ProgramPublicDto() {
+    }
+
+    // για constructor projections· οι λίστες συμπληρώνονται χωριστά
+    public ProgramPublicDto(Long id, String name, String description, LocalDate startDate, LocalDate endDate,
+                            ProgramState state) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.state = state != null ? state.name() : null;
+    }
+
 
     public Long getId() {
         return id;
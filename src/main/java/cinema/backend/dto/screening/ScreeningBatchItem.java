@@ -0,0 +1,44 @@
+package cinema.backend.dto.screening;
+
+// Ένα βήμα workflow μέσα σε batch· handlerUsername για ASSIGN_HANDLER, reason για REJECT
+public class ScreeningBatchItem {
+
+    public enum Action { ASSIGN_HANDLER, ACCEPT, REJECT }
+
+    private Long screeningId;
+    private Action action;
+    private String handlerUsername;
+    private String reason;
+
+    public Long getScreeningId() {
+        return screeningId;
+    }
+
+    public void setScreeningId(Long screeningId) {
+        this.screeningId = screeningId;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public void setAction(Action action) {
+        this.action = action;
+    }
+
+    public String getHandlerUsername() {
+        return handlerUsername;
+    }
+
+    public void setHandlerUsername(String handlerUsername) {
+        this.handlerUsername = handlerUsername;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,50 @@
+package cinema.backend.dto.screening;
+
+// Το αποτέλεσμα κάθε item, στη σειρά του request· error μόνο όταν ok = false
+public class ScreeningBatchResult {
+
+    private Long screeningId;
+    private ScreeningBatchItem.Action action;
+    private boolean ok;
+    private String state;
+    private String error;
+
+    public static ScreeningBatchResult ok(ScreeningBatchItem item, String state) {
+        ScreeningBatchResult result = new ScreeningBatchResult();
+        result.screeningId = item.getScreeningId();
+        result.action = item.getAction();
+        result.ok = true;
+        result.state = state;
+        return result;
+    }
+
+    public static ScreeningBatchResult failed(ScreeningBatchItem item, String state, String error) {
+        ScreeningBatchResult result = new ScreeningBatchResult();
+        result.screeningId = item.getScreeningId();
+        result.action = item.getAction();
+        result.ok = false;
+        result.state = state;
+        result.error = error;
+        return result;
+    }
+
+    public Long getScreeningId() {
+        return screeningId;
+    }
+
+    public ScreeningBatchItem.Action getAction() {
+        return action;
+    }
+
+    public boolean isOk() {
+        return ok;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,42 @@
+package cinema.backend.dto.screening;
+
+// Το αποτέλεσμα μιας γραμμής του import (row από 1)· id όταν ok, error όταν όχι
+public class ScreeningImportResult {
+
+    private int row;
+    private boolean ok;
+    private Long id;
+    private String error;
+
+    public static ScreeningImportResult ok(int row, Long id) {
+        ScreeningImportResult result = new ScreeningImportResult();
+        result.row = row;
+        result.ok = true;
+        result.id = id;
+        return result;
+    }
+
+    public static ScreeningImportResult failed(int row, String error) {
+        ScreeningImportResult result = new ScreeningImportResult();
+        result.row = row;
+        result.ok = false;
+        result.error = error;
+        return result;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public boolean isOk() {
+        return ok;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -18,6 +18,22 @@ public class ScreeningPublicDto {
 
     private ScreeningState state;
 
+    public ScreeningPublicDto() {
+    }
+
+    // για constructor projections (μόνο οι δημόσιες στήλες)
+    public ScreeningPublicDto(Long id, Long programId, String filmTitle, String filmGenres, String auditoriumName,
+                              LocalDateTime startTime, LocalDateTime endTime, ScreeningState state) {
+        this.id = id;
+        this.programId = programId;
+        this.filmTitle = filmTitle;
+        this.filmGenres = filmGenres;
+        this.auditoriumName = auditoriumName;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.state = state;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,7 @@
+package cinema.backend.dto.screening;
+
+// Ποια όψη μιας screening δικαιούται ο χρήστης
+public enum ScreeningView {
+    DETAILS,
+    PUBLIC
+}
@@ -1,5 +1,6 @@
 package cinema.backend.dto.user;
 
+import java.time.Instant;
 import java.util.Set;
 
 public class AuthResponseDto {
@@ -8,6 +9,9 @@ public class AuthResponseDto {
     private Set<String> roles;
     private String fullName;
 
+    private String token;
+    private Instant expiresAt;
+
     public AuthResponseDto() {
     }
 
@@ -40,4 +44,20 @@ public class AuthResponseDto {
     public void setFullName(String fullName) {
         this.fullName = fullName;
     }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
 }
@@ -6,11 +6,13 @@ import cinema.backend.dto.program.ProgramPublicDto;
 import cinema.backend.dto.program.ProgramUpdateRequest;
 import cinema.backend.model.Program;
 import cinema.backend.model.ProgramState;
-import cinema.backend.model.Screening;
-import cinema.backend.model.ScreeningState;
+import cinema.backend.model.ProgramSummary;
 
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -21,7 +23,7 @@ public class ProgramMapper {
     }
 
 
-    public static ProgramPublicDto toPublicDto(Program program) {
+    public static ProgramPublicDto toPublicDto(Program program, ProgramSummary summary) {
         if (program == null) {
             return null;
         }
@@ -50,24 +52,37 @@ public class ProgramMapper {
         }
 
 
-        if (program.getScreenings() != null) {
-            dto.setAuditoriums(
-                    program.getScreenings().stream()
-                            .filter(Objects::nonNull)
-                            .filter(s -> s.getState() == ScreeningState.SCHEDULED)
-                            .map(Screening::getAuditoriumName)
-                            .filter(a -> a != null && !a.isBlank())
-                            .distinct()
-                            .sorted(String.CASE_INSENSITIVE_ORDER)
-                            .collect(Collectors.toList())
-            );
+        // από το read model: χωρίς να φορτωθούν τα screenings
+        if (summary != null) {
+            dto.setAuditoriums(summary.getAuditoriumList());
         }
 
         return dto;
     }
 
 
-    public static ProgramDetailsDto toDetailsDto(Program program) {
+    // για projections: οι λίστες με την ίδια μορφή που δίνει το toPublicDto
+    public static ProgramPublicDto withLists(ProgramPublicDto dto,
+                                             List<String> programmerUsernames,
+                                             List<String> auditoriums) {
+        dto.setProgrammerUsernames(programmerUsernames.stream()
+                .filter(Objects::nonNull)
+                .sorted(String.CASE_INSENSITIVE_ORDER)
+                .collect(Collectors.toList()));
+        dto.setAuditoriums(sortedAuditoriums(auditoriums));
+        return dto;
+    }
+
+    public static List<String> sortedAuditoriums(Collection<String> auditoriums) {
+        return auditoriums.stream()
+                .filter(a -> a != null && !a.isBlank())
+                .distinct()
+                .sorted(String.CASE_INSENSITIVE_ORDER)
+                .collect(Collectors.toList());
+    }
+
+
+    public static ProgramDetailsDto toDetailsDto(Program program, ProgramSummary summary) {
         if (program == null) {
             return null;
         }
@@ -110,22 +125,17 @@ public class ProgramMapper {
             );
         }
 
-        // μετρητές για programmers / staff / screenings
-        int programmersCount = program.getProgrammers() != null
-                ? program.getProgrammers().size()
-                : 0;
+        // μετρητές από το read model, ώστε να μη φορτώνονται οι collections μόνο για το size()
+        if (summary != null) {
+            dto.setProgrammersCount(summary.getProgrammersCount());
+            dto.setStaffCount(summary.getStaffCount());
+            dto.setScreeningsCount(summary.getScreeningsCount());
 
-        int staffCount = program.getStaff() != null
-                ? program.getStaff().size()
-                : 0;
-
-        int screeningsCount = program.getScreenings() != null
-                ? program.getScreenings().size()
-                : 0;
-
-        dto.setProgrammersCount(programmersCount);
-        dto.setStaffCount(staffCount);
-        dto.setScreeningsCount(screeningsCount);
+            Map<String, Integer> screeningCounts = new LinkedHashMap<>();
+            summary.getScreeningCounts().forEach((screeningState, count) -> screeningCounts.put(screeningState.name(), count));
+            dto.setScreeningCounts(screeningCounts);
+            dto.setAuditoriums(summary.getAuditoriumList());
+        }
 
         return dto;
     }
@@ -1,6 +1,8 @@
 package cinema.backend.model;
 
+import cinema.backend.search.SearchText;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,7 +14,9 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
-@Table(name = "program")
+@Table(name = "program", indexes = {
+        @Index(name = "idx_program_start", columnList = "start_date, id")
+})
 public class Program {
 
     @Id
@@ -25,6 +29,14 @@ public class Program {
     @Column(length = 4000)
     private String description;
 
+    // κανονικοποιημένα (SearchText) αντίγραφα για αναζήτηση, υπολογίζονται σε κάθε εγγραφή
+    @Setter(AccessLevel.NONE)
+    private String searchName;
+
+    @Setter(AccessLevel.NONE)
+    @Column(length = 4000)
+    private String searchDescription;
+
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate;
 
@@ -38,6 +50,10 @@ public class Program {
     @Column(nullable = false)
     private ProgramState state = ProgramState.CREATED;
 
+    // optimistic locking· αυξάνεται και όταν αλλάζουν programmers / staff, τροφοδοτεί τα ETags
+    @Version
+    private long version;
+
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "creator_id")
@@ -64,4 +80,11 @@ public class Program {
 
     @OneToMany(mappedBy = "program", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Screening> screenings = new HashSet<>();
+
+    @PrePersist
+    @PreUpdate
+    void normalizeSearchFields() {
+        this.searchName = SearchText.normalize(name);
+        this.searchDescription = SearchText.normalize(description);
+    }
 }
@@ -0,0 +1,107 @@
+package cinema.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Read model ενός program: μετρητές και λίστες που αλλιώς θα χρειάζονταν τις collections του.
+// Ενημερώνεται στο ίδιο transaction με κάθε workflow μέθοδο που τα αλλάζει (ProgramSummaries).
+@Getter
+@Entity
+@Table(name = "program_summary")
+public class ProgramSummary {
+
+    private static final String AUDITORIUM_SEPARATOR = "\n";
+
+    @Id
+    @Column(name = "program_id")
+    private Long programId;
+
+    private int createdCount;
+    private int submittedCount;
+    private int reviewedCount;
+    private int approvedCount;
+    private int scheduledCount;
+    private int rejectedCount;
+
+    private int programmersCount;
+    private int staffCount;
+
+    // οι διαφορετικές αίθουσες των SCHEDULED screenings, ταξινομημένες, μία ανά γραμμή
+    @Column(length = 4000)
+    private String auditoriums = "";
+
+    // αυξάνεται σε κάθε ενημέρωση μέσω ProgramSummaries, και για αλλαγές screenings που δεν αγγίζουν
+    // τους μετρητές· το ETag της λίστας programs χτίζεται από αυτό αντί για όλο τον πίνακα screening
+    @Version
+    private long version;
+
+    protected ProgramSummary() {
+    }
+
+    public ProgramSummary(Long programId) {
+        this.programId = programId;
+    }
+
+    public int count(ScreeningState state) {
+        return switch (state) {
+            case CREATED -> createdCount;
+            case SUBMITTED -> submittedCount;
+            case REVIEWED -> reviewedCount;
+            case APPROVED -> approvedCount;
+            case SCHEDULED -> scheduledCount;
+            case REJECTED -> rejectedCount;
+        };
+    }
+
+    public void add(ScreeningState state, int delta) {
+        switch (state) {
+            case CREATED -> createdCount += delta;
+            case SUBMITTED -> submittedCount += delta;
+            case REVIEWED -> reviewedCount += delta;
+            case APPROVED -> approvedCount += delta;
+            case SCHEDULED -> scheduledCount += delta;
+            case REJECTED -> rejectedCount += delta;
+        }
+    }
+
+    public int getScreeningsCount() {
+        int total = 0;
+        for (ScreeningState state : ScreeningState.values()) {
+            total += count(state);
+        }
+        return total;
+    }
+
+    public Map<ScreeningState, Integer> getScreeningCounts() {
+        Map<ScreeningState, Integer> counts = new EnumMap<>(ScreeningState.class);
+        for (ScreeningState state : ScreeningState.values()) {
+            counts.put(state, count(state));
+        }
+        return counts;
+    }
+
+    public void setProgrammersCount(int programmersCount) {
+        this.programmersCount = programmersCount;
+    }
+
+    public void setStaffCount(int staffCount) {
+        this.staffCount = staffCount;
+    }
+
+    public List<String> getAuditoriumList() {
+        if (auditoriums == null || auditoriums.isEmpty()) return List.of();
+        return new ArrayList<>(Arrays.asList(auditoriums.split(AUDITORIUM_SEPARATOR)));
+    }
+
+    // αναμένεται ήδη ταξινομημένη και χωρίς διπλά (ProgramMapper.withLists)
+    public void setAuditoriumList(Collection<String> auditoriums) {
+        this.auditoriums = String.join(AUDITORIUM_SEPARATOR, auditoriums);
+    }
+}
@@ -1,20 +1,35 @@
 package cinema.backend.model;
 
+import cinema.backend.search.SearchText;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "screening")
+@NamedEntityGraph(name = Screening.DETAILS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("program"),
+        @NamedAttributeNode("submitter"),
+        @NamedAttributeNode("handler")
+})
+@Table(name = "screening", indexes = {
+        @Index(name = "idx_screening_program_start", columnList = "program_id, startTime, id"),
+        @Index(name = "idx_screening_program_genres_title", columnList = "program_id, searchGenres, searchTitle, id")
+})
 public class Screening {
 
+    // program και χρήστες σε ένα join, για details και workflow
+    public static final String DETAILS_GRAPH = "Screening.details";
+
+    // pooled sequence: τα ids δεσμεύονται ανά 50, οπότε τα inserts δεν περιμένουν το id και γίνονται JDBC batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "screening_seq")
+    @SequenceGenerator(name = "screening_seq", sequenceName = "screening_seq", initialValue = 1000,
+            allocationSize = 50)
     private Long id;
 
     private LocalDateTime creationDate;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private Program program;
 
     @Enumerated(EnumType.STRING)
@@ -25,15 +40,21 @@ public class Screening {
     private String filmGenres;
     private int filmDurationMinutes;
 
+    // κανονικοποιημένα (SearchText) αντίγραφα για αναζήτηση, υπολογίζονται σε κάθε εγγραφή
+    private String searchTitle;
+    private String searchCast;
+    private String searchGenres;
+    private String searchAuditorium;
+
     private String auditoriumName;
 
     private LocalDateTime startTime;
     private LocalDateTime endTime;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User submitter;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User handler;
 
     private Integer reviewScore;
@@ -49,6 +70,10 @@ public class Screening {
 
     private boolean finalSubmitted;
 
+    // optimistic locking· χρησιμοποιείται και ως validator για τα ETags
+    @Version
+    private long version;
+
     public Screening() {}
 
     public Long getId() { return id; }
@@ -104,4 +129,20 @@ public class Screening {
 
     public boolean isFinalSubmitted() { return finalSubmitted; }
     public void setFinalSubmitted(boolean finalSubmitted) { this.finalSubmitted = finalSubmitted; }
+
+    public long getVersion() { return version; }
+
+    public String getSearchTitle() { return searchTitle; }
+    public String getSearchCast() { return searchCast; }
+    public String getSearchGenres() { return searchGenres; }
+    public String getSearchAuditorium() { return searchAuditorium; }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeSearchFields() {
+        this.searchTitle = SearchText.normalize(filmTitle);
+        this.searchCast = SearchText.normalize(filmCast);
+        this.searchGenres = SearchText.normalize(filmGenres);
+        this.searchAuditorium = SearchText.normalize(auditoriumName);
+    }
 }
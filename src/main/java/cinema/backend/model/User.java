@@ -1,9 +1,11 @@
 package cinema.backend.model;
 
+import cinema.backend.security.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidationListener.class)
 public class User {
 
     @Id
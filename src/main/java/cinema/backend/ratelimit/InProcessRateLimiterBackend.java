@@ -0,0 +1,13 @@
+package cinema.backend.ratelimit;
+
+import cinema.backend.util.RateLimiter;
+
+import java.time.Duration;
+
+public class InProcessRateLimiterBackend implements RateLimiterBackend {
+
+    @Override
+    public RateLimiter.Decision acquire(String key, int limit, Duration window) {
+        return RateLimiter.acquire(key, limit, window);
+    }
+}
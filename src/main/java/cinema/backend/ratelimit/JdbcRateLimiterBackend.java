@@ -0,0 +1,242 @@
+package cinema.backend.ratelimit;
+
+import cinema.backend.util.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Κοινοί μετρητές fixed-window σε βάση (ένας πίνακας rate_limit_counter για όλα τα nodes).
+// Κάθε request αποφασίζεται τοπικά με (τελευταίο γνωστό σύνολο cluster + δικά μας hits που δεν έχει δει ακόμη),
+// και κάθε syncInterval στέλνουμε τα μη μηδενικά deltas σε batch και διαβάζουμε πίσω τα σύνολα με ένα query.
+// Το πολύ (nodes x hits ανά syncInterval) πάνω από το όριο, χωρίς remote round trip ανά request
+// (μόνο ένα read την πρώτη φορά που ένα node βλέπει ένα key σε κάθε window).
+public class JdbcRateLimiterBackend implements RateLimiterBackend, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcRateLimiterBackend.class);
+
+    static final String TABLE = "rate_limit_counter";
+
+    // keys ανά read-back query, ώστε το IN να μένει σε λογικό μέγεθος
+    private static final int READ_BACK_CHUNK = 500;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxKeys;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public JdbcRateLimiterBackend(DataSource dataSource, Duration syncInterval, int maxKeys) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.maxKeys = maxKeys;
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                + "bucket_key VARCHAR(512) NOT NULL, "
+                + "window_start BIGINT NOT NULL, "
+                + "hits BIGINT NOT NULL, "
+                + "expires_at BIGINT NOT NULL, "
+                + "PRIMARY KEY (bucket_key, window_start))");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + TABLE + "_expires ON " + TABLE + " (expires_at)");
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rate-limiter-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1, syncInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public RateLimiter.Decision acquire(String key, int limit, Duration window) {
+        long windowMillis = window.toMillis();
+        long now = System.currentTimeMillis();
+        long windowStart = now - Math.floorMod(now, windowMillis);
+        long retryAfterNanos = TimeUnit.MILLISECONDS.toNanos(windowStart + windowMillis - now);
+
+        Counter counter = counterFor(key, windowStart, windowMillis, now);
+        if (counter == null) {
+            // γεμάτος πίνακας: το key μετριέται μόνο τοπικά, αντί να απορρίπτεται κάθε νέος client
+            return RateLimiter.acquire(key, limit, window);
+        }
+
+        long used = counter.clusterHits + counter.sent.get() + counter.pending.incrementAndGet();
+        if (used > limit) {
+            counter.pending.decrementAndGet();
+            return new RateLimiter.Decision(false, 0, retryAfterNanos);
+        }
+        return new RateLimiter.Decision(true, limit - used, 0);
+    }
+
+    private Counter counterFor(String key, long windowStart, long windowMillis, long now) {
+        Counter counter = counters.get(key);
+        if (counter != null && counter.windowStart == windowStart) {
+            return counter;
+        }
+        if (counter == null && counters.size() >= maxKeys) {
+            counters.values().removeIf(c -> c.windowStart + c.windowMillis <= now && c.pending.get() == 0);
+            if (counters.size() >= maxKeys) {
+                return null;
+            }
+        }
+        Counter created = new Counter(windowStart, windowMillis);
+        Counter current = counters.compute(key, (k, c) ->
+                (c != null && c.windowStart == windowStart) ? c : created);
+        if (current == created) {
+            // πρώτη φορά που βλέπουμε το key σε αυτό το window: ένα read για να μάθουμε τι έχουν μετρήσει τα άλλα nodes
+            current.clusterHits = loadHits(key, windowStart);
+        }
+        return current;
+    }
+
+    private long loadHits(String key, long windowStart) {
+        try {
+            List<Long> hits = jdbcTemplate.queryForList(
+                    "SELECT hits FROM " + TABLE + " WHERE bucket_key = ? AND window_start = ?",
+                    Long.class, key, windowStart);
+            return hits.isEmpty() ? 0 : hits.get(0);
+        } catch (DataAccessException e) {
+            log.warn("Rate limit lookup failed: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    // Στέλνει τα τοπικά deltas και ανανεώνει τα σύνολα του cluster για τα ενεργά windows.
+    // Ένα delta περνά από το pending στο sent μόλις γραφτεί, οπότε δεν ξαναστέλνεται ποτέ, ακόμη κι αν
+    // αποτύχει το read-back ή αν η γραμμή σβηστεί στο μεταξύ. Το sent μηδενίζεται όταν το σύνολο το περιέχει.
+    public synchronized void sync() {
+        long now = System.currentTimeMillis();
+        counters.entrySet().removeIf(e -> e.getValue().windowStart + e.getValue().windowMillis <= now
+                && e.getValue().pending.get() == 0);
+
+        List<Map.Entry<String, Counter>> active = new ArrayList<>(counters.entrySet());
+        if (active.isEmpty()) return;
+
+        List<Map.Entry<String, Counter>> changed = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (Map.Entry<String, Counter> e : active) {
+            long delta = e.getValue().pending.get();
+            if (delta == 0) continue;
+            changed.add(e);
+            deltas.add(delta);
+            updates.add(new Object[]{delta, e.getKey(), e.getValue().windowStart});
+        }
+
+        if (!changed.isEmpty()) {
+            // όλο το batch ή τίποτα: ξέρουμε ακριβώς ποια deltas γράφτηκαν
+            int[] updated = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(
+                    "UPDATE " + TABLE + " SET hits = hits + ? WHERE bucket_key = ? AND window_start = ?", updates));
+            for (int i = 0; i < changed.size(); i++) {
+                if (updated[i] != 0) {
+                    markSent(changed.get(i).getValue(), deltas.get(i));
+                }
+            }
+            for (int i = 0; i < changed.size(); i++) {
+                if (updated[i] == 0) {
+                    insert(changed.get(i).getKey(), changed.get(i).getValue(), deltas.get(i));
+                    markSent(changed.get(i).getValue(), deltas.get(i));
+                }
+            }
+        }
+
+        for (int from = 0; from < active.size(); from += READ_BACK_CHUNK) {
+            readBack(active.subList(from, Math.min(active.size(), from + READ_BACK_CHUNK)));
+        }
+
+        counters.entrySet().removeIf(e -> e.getValue().windowStart + e.getValue().windowMillis <= now);
+        jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE expires_at < ?", now);
+    }
+
+    // πρώτα στο sent και μετά εκτός pending: στο ενδιάμεσο μετράμε παραπάνω, όχι λιγότερο
+    private static void markSent(Counter counter, long delta) {
+        counter.sent.addAndGet(delta);
+        counter.pending.addAndGet(-delta);
+    }
+
+    private void readBack(List<Map.Entry<String, Counter>> entries) {
+        Map<String, Counter> byKey = new HashMap<>();
+        Map<Counter, Long> sent = new HashMap<>();
+        StringJoiner in = new StringJoiner(", ", "(", ")");
+        List<Object> args = new ArrayList<>();
+        for (Map.Entry<String, Counter> e : entries) {
+            byKey.put(e.getKey(), e.getValue());
+            sent.put(e.getValue(), e.getValue().sent.get());
+            in.add("(?, ?)");
+            args.add(e.getKey());
+            args.add(e.getValue().windowStart);
+        }
+
+        jdbcTemplate.query("SELECT bucket_key, window_start, hits FROM " + TABLE
+                        + " WHERE (bucket_key, window_start) IN " + in, rs -> {
+                    Counter counter = byKey.get(rs.getString(1));
+                    if (counter == null || counter.windowStart != rs.getLong(2)) return;
+                    // πρώτα το νέο σύνολο (περιέχει ό,τι είχαμε στείλει) και μετά αφαιρούμε το sent
+                    counter.clusterHits = rs.getLong(3);
+                    counter.sent.addAndGet(-sent.get(counter));
+                }, args.toArray());
+    }
+
+    private void insert(String key, Counter counter, long delta) {
+        try {
+            jdbcTemplate.update("INSERT INTO " + TABLE + " (bucket_key, window_start, hits, expires_at) VALUES (?, ?, ?, ?)",
+                    key, counter.windowStart, delta, counter.windowStart + counter.windowMillis);
+        } catch (DuplicateKeyException e) {
+            // άλλο node το έγραψε ταυτόχρονα
+            jdbcTemplate.update("UPDATE " + TABLE + " SET hits = hits + ? WHERE bucket_key = ? AND window_start = ?",
+                    delta, key, counter.windowStart);
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (DataAccessException e) {
+            // αν πέσει το κοινό store συνεχίζουμε με τοπική μέτρηση
+            log.warn("Rate limit sync failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        scheduler.shutdown();
+        syncQuietly();
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class Counter {
+
+        final long windowStart;
+        final long windowMillis;
+        final AtomicLong pending = new AtomicLong();
+        final AtomicLong sent = new AtomicLong();
+        volatile long clusterHits;
+
+        Counter(long windowStart, long windowMillis) {
+            this.windowStart = windowStart;
+            this.windowMillis = windowMillis;
+        }
+    }
+}
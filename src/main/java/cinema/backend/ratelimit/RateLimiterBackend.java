@@ -0,0 +1,11 @@
+package cinema.backend.ratelimit;
+
+import cinema.backend.util.RateLimiter;
+
+import java.time.Duration;
+
+// SPI για το πού κρατιούνται οι μετρητές: στο process (ανά node) ή σε κοινό store για όλο το cluster.
+public interface RateLimiterBackend {
+
+    RateLimiter.Decision acquire(String key, int limit, Duration window);
+}
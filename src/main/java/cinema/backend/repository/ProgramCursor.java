@@ -0,0 +1,50 @@
+package cinema.backend.repository;
+
+import cinema.backend.dto.program.ProgramPublicDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Keyset θέση μέσα στη λίστα programs (startDate, id): οι τιμές της τελευταίας γραμμής της σελίδας.
+ * Στον client πηγαίνει ως opaque string, όπως το {@link ScreeningCursor}.
+ */
+public final class ProgramCursor {
+
+    private static final String PREFIX = "PROGRAM";
+    private static final char SEPARATOR = '\u0000';
+
+    private final LocalDate startDate;
+    private final long id;
+
+    private ProgramCursor(LocalDate startDate, long id) {
+        this.startDate = startDate;
+        this.id = id;
+    }
+
+    public static ProgramCursor after(ProgramPublicDto last) {
+        return new ProgramCursor(last.getStartDate(), last.getId());
+    }
+
+    public static ProgramCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+            if (parts.length != 3 || !parts[0].equals(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ProgramCursor(LocalDate.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = PREFIX + SEPARATOR + startDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getStartDate() { return startDate; }
+    public long getId() { return id; }
+}
@@ -5,30 +5,47 @@ import cinema.backend.model.ProgramState;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ProgramRepository extends JpaRepository<Program, Long> {
+@Transactional(readOnly = true)
+public interface ProgramRepository extends JpaRepository<Program, Long>, ProgramRepositoryCustom {
 
     Optional<Program> findByName(String name);
 
-    List<Program> findByState(ProgramState state);
+    @Query("select p.id as programId, u.username as username from Program p join p.programmers u where p.id in :ids")
+    List<ProgramUsername> findProgrammerUsernames(@Param("ids") Collection<Long> ids);
 
-    @Query("select p from Program p where p.creator.id = :userId")
-    List<Program> findProgramsCreatedBy(@Param("userId") Long userId);
 
-    @Query("select distinct p from Program p join p.programmers u where u.id = :userId")
-    List<Program> findProgramsWhereUserIsProgrammer(@Param("userId") Long userId);
+    // για conditional GET: version και state χωρίς entity και collections
+    @Query("select p.id as id, p.version as version, p.state as state from Program p where p.id = :id")
+    Optional<ProgramVersion> findVersionById(@Param("id") Long id);
 
-    @Query("select distinct p from Program p join p.staff u where u.id = :userId")
-    List<Program> findProgramsWhereUserIsStaff(@Param("userId") Long userId);
+    @Query("select count(p) as count, coalesce(sum(p.version), 0) as versions, coalesce(sum(p.id), 0) as ids " +
+            "from Program p")
+    VersionSummary summarizeVersions();
 
 
-    @Query("select distinct p from Program p join p.screenings s join s.handler h where h.id = :userId")
-    List<Program> findProgramsWhereUserIsHandler(@Param("userId") Long userId);
+    @Query("select u.id from Program p join p.programmers u where p.id = :programId")
+    List<Long> findProgrammerIds(@Param("programId") Long programId);
 
+    @Query("select u.id from Program p join p.staff u where p.id = :programId")
+    List<Long> findStaffIds(@Param("programId") Long programId);
 
-    @Query("select p from Program p where p.programmers is empty")
-    List<Program> findProgramsWithNoProgrammers();
+    @Query("select p.creator.id from Program p where p.id = :programId and p.creator is not null")
+    Optional<Long> findCreatorId(@Param("programId") Long programId);
+
+    interface ProgramVersion {
+        Long getId();
+        long getVersion();
+        ProgramState getState();
+    }
+
+    interface ProgramUsername {
+        Long getProgramId();
+        String getUsername();
+    }
 }
@@ -0,0 +1,13 @@
+package cinema.backend.repository;
+
+import cinema.backend.dto.program.ProgramPublicDto;
+import cinema.backend.model.Program;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ProgramRepositoryCustom {
+
+    // οι γραμμές του spec κατευθείαν σε DTO, σε ένα query· οι λίστες του DTO συμπληρώνονται χωριστά
+    List<ProgramPublicDto> findPublic(Specification<Program> spec, int limit);
+}
@@ -0,0 +1,48 @@
+package cinema.backend.repository;
+
+import cinema.backend.dto.program.ProgramPublicDto;
+import cinema.backend.model.Program;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+class ProgramRepositoryImpl implements ProgramRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    ProgramRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ProgramPublicDto> findPublic(Specification<Program> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProgramPublicDto> query = cb.createQuery(ProgramPublicDto.class);
+        Root<Program> root = query.from(Program.class);
+
+        query.select(cb.construct(ProgramPublicDto.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("description"),
+                root.get("startDate"),
+                root.get("endDate"),
+                root.get("state")));
+
+        // το spec βάζει και το orderBy (result type != Long)
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
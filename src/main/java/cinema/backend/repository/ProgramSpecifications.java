@@ -0,0 +1,157 @@
+package cinema.backend.repository;
+
+import cinema.backend.model.Program;
+import cinema.backend.model.ProgramState;
+import cinema.backend.model.Role;
+import cinema.backend.model.Screening;
+import cinema.backend.model.ScreeningState;
+import cinema.backend.model.User;
+import cinema.backend.search.SearchText;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProgramSpecifications {
+
+    private ProgramSpecifications() {
+
+    }
+
+    // Τα programs της λίστας κάθε ρόλου σε ένα WHERE: όλοι τα ANNOUNCED, ο SUBMITTER όσα δημιούργησε,
+    // ο STAFF όσα είναι staff ή handler κάποιου screening, ο PROGRAMMER όσα είναι programmer ή creator
+    // και όσα δεν έχουν ακόμη programmers.
+    public static Specification<Program> visibleInList(Role role, Long userId) {
+        return (root, query, cb) -> {
+            List<Predicate> visible = new ArrayList<>();
+            visible.add(cb.equal(root.get("state"), ProgramState.ANNOUNCED));
+
+            if (userId != null && role == Role.SUBMITTER) {
+                visible.add(cb.equal(root.get("creator").get("id"), userId));
+            }
+            if (userId != null && role == Role.STAFF) {
+                visible.add(cb.exists(member(root, query, cb, "staff", userId)));
+                visible.add(cb.exists(handler(root, query, cb, userId)));
+            }
+            if (userId != null && role == Role.PROGRAMMER) {
+                visible.add(cb.exists(member(root, query, cb, "programmers", userId)));
+                visible.add(cb.equal(root.get("creator").get("id"), userId));
+                visible.add(cb.isEmpty(root.get("programmers")));
+            }
+            return cb.or(visible.toArray(new Predicate[0]));
+        };
+    }
+
+    // Κριτήρια κειμένου: contains στην κανονική μορφή (SearchText)· κενό κριτήριο δεν περιορίζει
+    public static Specification<Program> nameContains(String name) {
+        return (root, query, cb) -> contains(cb, root.get("searchName"), SearchText.normalize(name));
+    }
+
+    public static Specification<Program> descriptionContains(String description) {
+        return (root, query, cb) -> contains(cb, root.get("searchDescription"), SearchText.normalize(description));
+    }
+
+    // null σημαίνει ανοιχτό άκρο· και τα δύο άκρα inclusive
+    public static Specification<Program> startsBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            List<Predicate> range = new ArrayList<>();
+            if (from != null) {
+                range.add(cb.greaterThanOrEqualTo(root.get("startDate"), from));
+            }
+            if (to != null) {
+                range.add(cb.lessThanOrEqualTo(root.get("startDate"), to));
+            }
+            return cb.and(range.toArray(new Predicate[0]));
+        };
+    }
+
+    // Programs με τουλάχιστον ένα screening που ταιριάζει και που ο χρήστης βλέπει (ίδιοι κανόνες με τη λίστα
+    // screenings), ώστε το search να μη φανερώνει τίτλους που δεν εμφανίζονται πουθενά αλλού.
+    public static Specification<Program> hasScreening(String filmTitle, String auditoriumName, Long userId) {
+        return (root, query, cb) -> {
+            String title = SearchText.normalize(filmTitle);
+            String auditorium = SearchText.normalize(auditoriumName);
+            if (isBlank(title) && isBlank(auditorium)) {
+                return cb.conjunction();
+            }
+
+            Subquery<Long> sub = query.subquery(Long.class);
+            Root<Screening> screening = sub.from(Screening.class);
+
+            List<Predicate> visible = new ArrayList<>();
+            visible.add(cb.and(cb.equal(root.get("state"), ProgramState.ANNOUNCED),
+                    cb.equal(screening.get("state"), ScreeningState.SCHEDULED)));
+            if (userId != null) {
+                visible.add(cb.equal(screening.get("submitter").get("id"), userId));
+                visible.add(cb.equal(screening.get("handler").get("id"), userId));
+                visible.add(cb.exists(member(root, query, cb, "programmers", userId)));
+                visible.add(cb.exists(member(root, query, cb, "staff", userId)));
+            }
+
+            return cb.exists(sub.select(screening.get("id")).where(
+                    cb.equal(screening.get("program"), root),
+                    contains(cb, screening.get("searchTitle"), title),
+                    contains(cb, screening.get("searchAuditorium"), auditorium),
+                    cb.or(visible.toArray(new Predicate[0]))));
+        };
+    }
+
+    // keyset μετά το cursor στη σειρά της λίστας (startDate, id)
+    public static Specification<Program> after(ProgramCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+            return cb.or(
+                    cb.greaterThan(root.get("startDate"), cursor.getStartDate()),
+                    cb.and(cb.equal(root.get("startDate"), cursor.getStartDate()),
+                            cb.greaterThan(root.get("id"), cursor.getId())));
+        };
+    }
+
+    // startDate και id είναι NOT NULL, οπότε η σειρά είναι ολική και σταθερή ανάμεσα σε σελίδες
+    public static Specification<Program> orderByStartDate() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                query.orderBy(cb.asc(root.get("startDate")), cb.asc(root.get("id")));
+            }
+            return cb.conjunction();
+        };
+    }
+
+    private static Predicate contains(CriteriaBuilder cb, Expression<String> column, String text) {
+        if (isBlank(text)) {
+            return cb.conjunction();
+        }
+        String escaped = text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return cb.like(column, "%" + escaped + "%", '\\');
+    }
+
+    private static boolean isBlank(String text) {
+        return text == null || text.isBlank();
+    }
+
+    private static Subquery<Long> member(Root<Program> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                         String collection, Long userId) {
+        Subquery<Long> sub = query.subquery(Long.class);
+        Root<Program> program = sub.from(Program.class);
+        Join<Program, User> user = program.join(collection);
+        return sub.select(program.get("id"))
+                .where(cb.equal(program, root), cb.equal(user.get("id"), userId));
+    }
+
+    private static Subquery<Long> handler(Root<Program> root, CriteriaQuery<?> query, CriteriaBuilder cb, Long userId) {
+        Subquery<Long> sub = query.subquery(Long.class);
+        Root<Screening> screening = sub.from(Screening.class);
+        return sub.select(screening.get("id"))
+                .where(cb.equal(screening.get("program"), root), cb.equal(screening.get("handler").get("id"), userId));
+    }
+}
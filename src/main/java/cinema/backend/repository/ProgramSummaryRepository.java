@@ -0,0 +1,33 @@
+package cinema.backend.repository;
+
+import cinema.backend.model.ProgramSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+public interface ProgramSummaryRepository extends JpaRepository<ProgramSummary, Long> {
+
+    // οι μετρητές αλλάζουν με read-modify-write: ταυτόχρονα workflow στο ίδιο program περιμένουν το ένα το άλλο.
+    // Το lock αυξάνει και το version, ακόμη κι όταν κανένας μετρητής δεν αλλάζει.
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("select s from ProgramSummary s where s.programId = :programId")
+    Optional<ProgramSummary> findForUpdate(@Param("programId") Long programId);
+
+    @Query("select s.version from ProgramSummary s where s.programId = :programId")
+    Optional<Long> findVersionByProgramId(@Param("programId") Long programId);
+
+    // μία γραμμή ανά program: φτηνό aggregate για το ETag της λίστας
+    @Query("select count(s) as count, coalesce(sum(s.version), 0) as versions, coalesce(sum(s.programId), 0) as ids " +
+            "from ProgramSummary s")
+    VersionSummary summarizeVersions();
+
+    @Query("select p.id from Program p where not exists (select s from ProgramSummary s where s.programId = p.id)")
+    List<Long> findProgramIdsWithoutSummary();
+}
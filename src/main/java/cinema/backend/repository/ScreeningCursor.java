@@ -0,0 +1,97 @@
+package cinema.backend.repository;
+
+import cinema.backend.dto.screening.ScreeningPublicDto;
+import cinema.backend.model.Screening;
+import cinema.backend.search.SearchText;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keyset θέση μέσα σε μια ταξινομημένη λίστα screenings: οι τιμές των sort keys
+ * της τελευταίας γραμμής της σελίδας και το id της. Στον client πηγαίνει ως opaque string.
+ */
+public final class ScreeningCursor {
+
+    public enum Order { START_TIME, GENRES_TITLE }
+
+    private static final char SEPARATOR = '\u0000';
+    private static final char NULL_VALUE = '\u0001';
+
+    private final Order order;
+    private final List<String> keys;
+    private final long id;
+
+    private ScreeningCursor(Order order, List<String> keys, long id) {
+        this.order = order;
+        this.keys = keys;
+        this.id = id;
+    }
+
+    public static ScreeningCursor after(Order order, Screening last) {
+        return after(order, last.getId(), last.getStartTime(), last.getSearchGenres(), last.getSearchTitle());
+    }
+
+    // τα search* πεδία είναι SearchText.normalize των αρχικών, οπότε υπολογίζονται ίδια και από το DTO
+    public static ScreeningCursor after(Order order, ScreeningPublicDto last) {
+        return after(order, last.getId(), last.getStartTime(),
+                SearchText.normalize(last.getFilmGenres()), SearchText.normalize(last.getFilmTitle()));
+    }
+
+    private static ScreeningCursor after(Order order, Long id, LocalDateTime startTime, String genresKey, String titleKey) {
+        List<String> keys = new ArrayList<>(2);
+        if (order == Order.START_TIME) {
+            keys.add(startTime == null ? null : startTime.toString());
+        } else {
+            keys.add(genresKey);
+            keys.add(titleKey);
+        }
+        return new ScreeningCursor(order, Collections.unmodifiableList(keys), id);
+    }
+
+    public static ScreeningCursor decode(String token, Order expected) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+        int expectedKeys = expected == Order.START_TIME ? 1 : 2;
+        if (parts.length != expectedKeys + 2 || !parts[0].equals(expected.name())) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        List<String> keys = new ArrayList<>(expectedKeys);
+        for (int i = 1; i <= expectedKeys; i++) {
+            keys.add(parts[i].equals(String.valueOf(NULL_VALUE)) ? null : parts[i]);
+        }
+
+        try {
+            if (expected == Order.START_TIME && keys.get(0) != null) {
+                LocalDateTime.parse(keys.get(0));
+            }
+            return new ScreeningCursor(expected, Collections.unmodifiableList(keys), Long.parseLong(parts[parts.length - 1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        StringBuilder sb = new StringBuilder(order.name());
+        for (String key : keys) {
+            sb.append(SEPARATOR).append(key == null ? String.valueOf(NULL_VALUE) : key);
+        }
+        sb.append(SEPARATOR).append(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Order getOrder() { return order; }
+    public List<String> getKeys() { return keys; }
+    public long getId() { return id; }
+}
@@ -1,14 +1,99 @@
 package cinema.backend.repository;
 
+import cinema.backend.dto.screening.ScreeningPublicDto;
+import cinema.backend.model.ProgramState;
 import cinema.backend.model.Screening;
+import cinema.backend.model.ScreeningState;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ScreeningRepository extends JpaRepository<Screening, Long> {
+@Transactional(readOnly = true)
+public interface ScreeningRepository extends JpaRepository<Screening, Long>, JpaSpecificationExecutor<Screening>,
+        ScreeningRepositoryCustom {
 
     List<Screening> findByProgramId(Long programId);
 
+    @EntityGraph(Screening.DETAILS_GRAPH)
+    Optional<Screening> findDetailedById(Long id);
+
+    @EntityGraph(Screening.DETAILS_GRAPH)
+    List<Screening> findByProgramIdAndIdIn(Long programId, Collection<Long> ids);
+
 
     boolean existsByProgramIdAndHandlerId(Long programId, Long handlerId);
+
+    // μόνο τα κανονικοποιημένα πεδία του text index, χωρίς entities
+    @Query("select s.id as id, s.searchTitle as searchTitle, s.searchCast as searchCast, s.searchGenres as searchGenres " +
+            "from Screening s where s.program.id = :programId")
+    List<TextFields> findTextFieldsByProgramId(@Param("programId") Long programId);
+
+    @Query("select distinct s.program.id as programId, s.auditoriumName as auditoriumName from Screening s " +
+            "where s.program.id in :programIds and s.state = cinema.backend.model.ScreeningState.SCHEDULED " +
+            "and s.auditoriumName is not null")
+    List<ProgramAuditorium> findScheduledAuditoriums(@Param("programIds") Collection<Long> programIds);
+
+    @Query("select s.state as state, count(s) as count from Screening s where s.program.id = :programId group by s.state")
+    List<StateCount> countByState(@Param("programId") Long programId);
+
+    // Ένα UPDATE για όλο το program, χωρίς entities· "versioned" ώστε να αλλάζουν και τα ETags.
+    // Ό,τι είναι ήδη στο persistence context δεν ενημερώνεται: ο caller δεν πρέπει να έχει φορτώσει screenings.
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("update versioned Screening s set s.state = cinema.backend.model.ScreeningState.REJECTED, " +
+            "s.rejectionReason = :reason where s.program.id = :programId and s.finalSubmitted = false " +
+            "and s.state not in (cinema.backend.model.ScreeningState.REJECTED, cinema.backend.model.ScreeningState.SCHEDULED)")
+    int rejectNotFinalSubmitted(@Param("programId") Long programId, @Param("reason") String reason);
+
+    // τα SCHEDULED screenings των programs στις δημόσιες στήλες, με τη σειρά της λίστας
+    @Query("select new cinema.backend.dto.screening.ScreeningPublicDto(s.id, s.program.id, s.filmTitle, s.filmGenres, " +
+            "s.auditoriumName, s.startTime, s.endTime, s.state) from Screening s " +
+            "where s.program.id in :programIds and s.state = cinema.backend.model.ScreeningState.SCHEDULED " +
+            "order by s.program.id, case when s.startTime is null then 1 else 0 end, s.startTime, s.id")
+    List<ScreeningPublicDto> findScheduledPublic(@Param("programIds") Collection<Long> programIds);
+
+    // για conditional GET: ό,τι χρειάζεται ο έλεγχος πρόσβασης και το ETag, χωρίς entities
+    @Query("select s.id as id, s.version as version, s.state as state, s.program.id as programId, " +
+            "p.state as programState, s.submitter.id as submitterId, s.handler.id as handlerId " +
+            "from Screening s join s.program p where s.id = :id")
+    Optional<ScreeningVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select count(s) as count, coalesce(sum(s.version), 0) as versions, coalesce(sum(s.id), 0) as ids " +
+            "from Screening s where s.program.id = :programId")
+    VersionSummary summarizeVersionsByProgramId(@Param("programId") Long programId);
+
+    interface ScreeningVersion {
+        Long getId();
+        long getVersion();
+        ScreeningState getState();
+        Long getProgramId();
+        ProgramState getProgramState();
+        Long getSubmitterId();
+        Long getHandlerId();
+    }
+
+    interface StateCount {
+        ScreeningState getState();
+        long getCount();
+    }
+
+    interface ProgramAuditorium {
+        Long getProgramId();
+        String getAuditoriumName();
+    }
+
+    interface TextFields {
+        Long getId();
+        String getSearchTitle();
+        String getSearchCast();
+        String getSearchGenres();
+    }
 }
@@ -0,0 +1,30 @@
+package cinema.backend.repository;
+
+import cinema.backend.dto.screening.ScreeningPublicDto;
+import cinema.backend.dto.screening.ScreeningView;
+import cinema.backend.model.Screening;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ScreeningRepositoryCustom {
+
+    // μόνο οι δημόσιες στήλες, κατευθείαν σε DTO: χωρίς entities, users και τα μεγάλα text πεδία
+    List<ScreeningPublicDto> findPublic(Specification<Screening> spec, int limit);
+
+    // οι γραμμές του spec μαζί με την όψη που δικαιούται ο χρήστης, υπολογισμένη στο ίδιο query:
+    // DETAILS για όλες αν detailsForAll, αλλιώς μόνο όπου είναι submitter ή handler
+    List<VisibleScreening> findVisible(Specification<Screening> spec, Long userId, boolean detailsForAll, int limit);
+
+    // ίδιες γραμμές με το findVisible χωρίς limit, διαβασμένες ως stream μέσα στο τρέχον transaction·
+    // κάθε entity γίνεται detach αφού περάσει από το action, οπότε η μνήμη δεν εξαρτάται από το πλήθος
+    void forEachVisible(Specification<Screening> spec, Long userId, boolean detailsForAll,
+                        Consumer<VisibleScreening> action);
+
+    // persist + flush σε ένα JDBC batch και detach, ώστε ένα μεγάλο import να μη γεμίζει το persistence context
+    void insertAll(List<Screening> screenings);
+
+    record VisibleScreening(Screening screening, ScreeningView view) {
+    }
+}
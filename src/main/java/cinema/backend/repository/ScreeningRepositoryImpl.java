@@ -0,0 +1,133 @@
+package cinema.backend.repository;
+
+import cinema.backend.dto.screening.ScreeningPublicDto;
+import cinema.backend.dto.screening.ScreeningView;
+import cinema.backend.model.Screening;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Transactional(readOnly = true)
+class ScreeningRepositoryImpl implements ScreeningRepositoryCustom {
+
+    // γραμμές ανά round-trip όταν τα αποτελέσματα διαβάζονται ως stream
+    private static final int STREAM_FETCH_SIZE = 100;
+
+    private final EntityManager entityManager;
+
+    ScreeningRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<Screening> screenings) {
+        for (Screening screening : screenings) {
+            entityManager.persist(screening);
+        }
+        entityManager.flush();
+        for (Screening screening : screenings) {
+            entityManager.detach(screening);
+        }
+    }
+
+    @Override
+    public List<ScreeningPublicDto> findPublic(Specification<Screening> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ScreeningPublicDto> query = cb.createQuery(ScreeningPublicDto.class);
+        Root<Screening> root = query.from(Screening.class);
+
+        query.select(cb.construct(ScreeningPublicDto.class,
+                root.get("id"),
+                root.get("program").get("id"),
+                root.get("filmTitle"),
+                root.get("filmGenres"),
+                root.get("auditoriumName"),
+                root.get("startTime"),
+                root.get("endTime"),
+                root.get("state")));
+
+        // το spec βάζει και το orderBy (result type != Long)
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<VisibleScreening> findVisible(Specification<Screening> spec, Long userId, boolean detailsForAll, int limit) {
+        return visibleQuery(spec, userId, detailsForAll)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(ScreeningRepositoryImpl::toVisible)
+                .toList();
+    }
+
+    @Override
+    public void forEachVisible(Specification<Screening> spec, Long userId, boolean detailsForAll,
+                               Consumer<VisibleScreening> action) {
+        TypedQuery<Tuple> query = visibleQuery(spec, userId, detailsForAll)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        try (Stream<Tuple> rows = query.getResultStream()) {
+            rows.forEach(tuple -> {
+                VisibleScreening row = toVisible(tuple);
+                action.accept(row);
+                // το persistence context δεν μεγαλώνει με το program: κάθε γραμμή φεύγει μόλις γραφτεί
+                entityManager.detach(row.screening());
+            });
+        }
+    }
+
+    private TypedQuery<Tuple> visibleQuery(Specification<Screening> spec, Long userId, boolean detailsForAll) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Screening> root = query.from(Screening.class);
+
+        // ό,τι διαβάζει ο ScreeningMapper για τα details, στο ίδιο query
+        root.fetch("submitter", JoinType.LEFT);
+        root.fetch("handler", JoinType.LEFT);
+
+        Expression<Boolean> details;
+        if (detailsForAll || userId == null) {
+            details = cb.literal(detailsForAll);
+        } else {
+            details = cb.<Boolean>selectCase()
+                    .when(cb.or(
+                            cb.equal(root.get("submitter").get("id"), userId),
+                            cb.equal(root.get("handler").get("id"), userId)), true)
+                    .otherwise(false);
+        }
+        query.multiselect(root, details);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query);
+    }
+
+    private static VisibleScreening toVisible(Tuple tuple) {
+        return new VisibleScreening(tuple.get(0, Screening.class),
+                Boolean.TRUE.equals(tuple.get(1, Boolean.class)) ? ScreeningView.DETAILS : ScreeningView.PUBLIC);
+    }
+}
@@ -0,0 +1,187 @@
+package cinema.backend.repository;
+
+import cinema.backend.model.ProgramState;
+import cinema.backend.model.Screening;
+import cinema.backend.model.ScreeningState;
+import cinema.backend.search.SearchText;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class ScreeningSpecifications {
+
+    private ScreeningSpecifications() {
+
+    }
+
+    public static Specification<Screening> inProgram(Long programId) {
+        return (root, query, cb) -> cb.equal(root.get("program").get("id"), programId);
+    }
+
+    // Οι κανόνες ορατότητας του search: programmer όλα, handler (αν είναι staff του program)/submitter
+    // τα δικά τους, όλοι τα SCHEDULED όταν το program είναι ANNOUNCED.
+    public static Specification<Screening> visibleInSearch(Long userId,
+                                                          ProgramState programState,
+                                                          boolean isProgrammerOfThisProgram,
+                                                          boolean isStaffInProgram) {
+        return visible(userId, programState, isProgrammerOfThisProgram, isStaffInProgram);
+    }
+
+    // Οι κανόνες ορατότητας της λίστας: programmer και staff του program βλέπουν όλα,
+    // οι υπόλοιποι ό,τι έχουν υποβάλει/αναλάβει και τα SCHEDULED όταν το program είναι ANNOUNCED.
+    public static Specification<Screening> visibleInList(Long userId,
+                                                        ProgramState programState,
+                                                        boolean isProgrammer,
+                                                        boolean isStaffInProgram) {
+        return visible(userId, programState, isProgrammer || isStaffInProgram, true);
+    }
+
+    private static Specification<Screening> visible(Long userId,
+                                                    ProgramState programState,
+                                                    boolean seesAll,
+                                                    boolean includeHandled) {
+        return (root, query, cb) -> {
+            if (seesAll) {
+                return cb.conjunction();
+            }
+
+            List<Predicate> visible = new ArrayList<>();
+            if (userId != null) {
+                if (includeHandled) {
+                    visible.add(cb.equal(root.get("handler").get("id"), userId));
+                }
+                visible.add(cb.equal(root.get("submitter").get("id"), userId));
+            }
+            if (programState == ProgramState.ANNOUNCED) {
+                visible.add(cb.equal(root.get("state"), ScreeningState.SCHEDULED));
+            }
+            return visible.isEmpty() ? cb.disjunction() : cb.or(visible.toArray(new Predicate[0]));
+        };
+    }
+
+    // Ίδια σημασία με το ScreeningTextIndex, πάνω στα search* πεδία: κάθε λέξη (χωρισμένη σε κενά)
+    // υπάρχει ως substring στην κανονική μορφή· κενό κριτήριο δεν περιορίζει.
+    public static Specification<Screening> containsAllWords(String attribute, String search) {
+        return (root, query, cb) -> {
+            String normalized = SearchText.normalize(search);
+            if (normalized == null || normalized.isBlank()) {
+                return cb.conjunction();
+            }
+
+            Expression<String> field = root.get(attribute);
+            List<Predicate> words = new ArrayList<>();
+            for (String word : normalized.trim().split("\\s+")) {
+                words.add(cb.like(field, "%" + escapeLike(word) + "%", '\\'));
+            }
+            return cb.and(words.toArray(new Predicate[0]));
+        };
+    }
+
+    // null σημαίνει χωρίς περιορισμό
+    public static Specification<Screening> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids == null ? cb.conjunction() : root.get("id").in(ids);
+    }
+
+    public static Specification<Screening> startsBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from == null && to == null) {
+                return cb.conjunction();
+            }
+
+            List<Predicate> range = new ArrayList<>();
+            range.add(cb.isNotNull(root.get("startTime")));
+            if (from != null) {
+                range.add(cb.greaterThanOrEqualTo(root.get("startTime"), from.atStartOfDay()));
+            }
+            if (to != null) {
+                range.add(cb.lessThan(root.get("startTime"), to.plusDays(1).atStartOfDay()));
+            }
+            return cb.and(range.toArray(new Predicate[0]));
+        };
+    }
+
+    // genres, title στην κανονική μορφή (χωρίς τόνους, πεζά) με τα null στο τέλος, και id για σταθερή σειρά
+    public static Specification<Screening> orderByGenresAndTitle() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                query.orderBy(
+                        cb.asc(nullsLastFlag(cb, root.get("searchGenres"))),
+                        cb.asc(root.get("searchGenres")),
+                        cb.asc(nullsLastFlag(cb, root.get("searchTitle"))),
+                        cb.asc(root.get("searchTitle")),
+                        cb.asc(root.get("id")));
+            }
+            return cb.conjunction();
+        };
+    }
+
+    public static Specification<Screening> orderByStartTime() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                query.orderBy(
+                        cb.asc(nullsLastFlag(cb, root.get("startTime"))),
+                        cb.asc(root.get("startTime")),
+                        cb.asc(root.get("id")));
+            }
+            return cb.conjunction();
+        };
+    }
+
+    // Keyset: μόνο οι γραμμές μετά το cursor, με την ίδια σειρά (nulls last) που ορίζει το orderBy.
+    public static Specification<Screening> after(ScreeningCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+
+            List<Expression<String>> keys = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            if (cursor.getOrder() == ScreeningCursor.Order.START_TIME) {
+                keys.add(root.get("startTime"));
+                values.add(cursor.getKeys().get(0) == null ? null : LocalDateTime.parse(cursor.getKeys().get(0)));
+            } else {
+                keys.add(root.get("searchGenres"));
+                keys.add(root.get("searchTitle"));
+                values.addAll(cursor.getKeys());
+            }
+            return afterKeys(cb, keys, values, 0, cb.greaterThan(root.get("id"), cursor.getId()));
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate afterKeys(CriteriaBuilder cb, List<Expression<String>> keys, List<Object> values,
+                                       int index, Predicate afterId) {
+        if (index == keys.size()) {
+            return afterId;
+        }
+
+        Expression key = keys.get(index);
+        Object value = values.get(index);
+        Predicate rest = afterKeys(cb, keys, values, index + 1, afterId);
+
+        if (value == null) {
+            return cb.and(cb.isNull(key), rest);
+        }
+
+        Comparable comparable = (Comparable) value;
+        return cb.or(
+                cb.isNull(key),
+                cb.greaterThan(key, comparable),
+                cb.and(cb.equal(key, comparable), rest));
+    }
+
+    private static Expression<Integer> nullsLastFlag(CriteriaBuilder cb, Expression<?> expression) {
+        return cb.<Integer>selectCase().when(cb.isNull(expression), 1).otherwise(0);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
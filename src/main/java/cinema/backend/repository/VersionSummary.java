@@ -0,0 +1,8 @@
+package cinema.backend.repository;
+
+// Συνοπτικός validator για ένα σύνολο γραμμών: αλλάζει σε κάθε insert, delete ή update (version).
+public interface VersionSummary {
+    Long getCount();
+    Long getVersions();
+    Long getIds();
+}
@@ -0,0 +1,49 @@
+package cinema.backend.schedule;
+
+import cinema.backend.dto.program.ProgramPublicDto;
+import cinema.backend.mapper.ProgramMapper;
+import cinema.backend.model.ProgramSummary;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.summary.ProgramSummaries;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Δημόσια όψη programs χωρίς entities: οι γραμμές έρχονται ως projection και κάθε λίστα με ένα query.
+@Component
+public class ProgramPublicViews {
+
+    private final ProgramRepository programRepository;
+    private final ProgramSummaries programSummaries;
+
+    public ProgramPublicViews(ProgramRepository programRepository, ProgramSummaries programSummaries) {
+        this.programRepository = programRepository;
+        this.programSummaries = programSummaries;
+    }
+
+    // οι λίστες (programmers, auditoriums) για γραμμές που ήρθαν ήδη ως projection, στην ίδια σειρά
+    public List<ProgramPublicDto> withLists(List<ProgramPublicDto> rows) {
+        if (rows.isEmpty()) return List.of();
+
+        List<Long> ids = rows.stream().map(ProgramPublicDto::getId).toList();
+
+        Map<Long, List<String>> programmers = new HashMap<>();
+        for (ProgramRepository.ProgramUsername row : programRepository.findProgrammerUsernames(ids)) {
+            programmers.computeIfAbsent(row.getProgramId(), k -> new ArrayList<>()).add(row.getUsername());
+        }
+
+        // οι αίθουσες έρχονται έτοιμες από το read model, μία γραμμή ανά program
+        Map<Long, ProgramSummary> summaries = programSummaries.forPrograms(ids);
+
+        List<ProgramPublicDto> out = new ArrayList<>(rows.size());
+        for (ProgramPublicDto dto : rows) {
+            out.add(ProgramMapper.withLists(dto,
+                    programmers.getOrDefault(dto.getId(), List.of()),
+                    summaries.get(dto.getId()).getAuditoriumList()));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,105 @@
+package cinema.backend.schedule;
+
+import cinema.backend.dto.CursorPage;
+import cinema.backend.dto.program.ProgramPublicDto;
+import cinema.backend.dto.screening.ScreeningPublicDto;
+import cinema.backend.repository.ProgramCursor;
+import cinema.backend.repository.ScreeningCursor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Το δημόσιο πρόγραμμα τη στιγμή builtAt: τα ANNOUNCED programs (startDate, id) και τα SCHEDULED
+ * screenings καθενός, ταξινομημένα όπως οι λίστες (startTime με τα null στο τέλος, id).
+ * Δεν αλλάζει μετά το build· κάθε αλλαγή φτιάχνει νέο instance.
+ */
+public record PublicSchedule(List<ProgramPublicDto> programs,
+                             Map<Long, List<ScreeningPublicDto>> screenings,
+                             Instant builtAt) {
+
+    public PublicSchedule {
+        programs = List.copyOf(programs);
+        screenings = Map.copyOf(screenings);
+    }
+
+    public boolean contains(Long programId) {
+        return programId != null && screenings.containsKey(programId);
+    }
+
+    public Duration age() {
+        return Duration.between(builtAt, Instant.now());
+    }
+
+    public CursorPage<ProgramPublicDto> programsPage(ProgramCursor after, int size) {
+        int from = 0;
+        if (after != null) {
+            int low = 0;
+            int high = programs.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(programs.get(mid), after) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            from = low;
+        }
+
+        int to = Math.min(programs.size(), from + size);
+        List<ProgramPublicDto> page = programs.subList(from, to);
+        String next = to < programs.size() ? ProgramCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page, next);
+    }
+
+    // ίδια keyset σημασία με τη λίστα από τη βάση, ώστε τα cursors να ισχύουν και στα δύο
+    public CursorPage<ScreeningPublicDto> screeningsPage(Long programId, ScreeningCursor after, int size) {
+        List<ScreeningPublicDto> all = screenings.getOrDefault(programId, List.of());
+
+        int from = after == null ? 0 : firstAfter(all, after);
+        int to = Math.min(all.size(), from + size);
+        List<ScreeningPublicDto> page = all.subList(from, to);
+
+        String next = to < all.size()
+                ? ScreeningCursor.after(ScreeningCursor.Order.START_TIME, page.get(page.size() - 1)).encode()
+                : null;
+        return new CursorPage<>(page, next);
+    }
+
+    private static int firstAfter(List<ScreeningPublicDto> rows, ScreeningCursor after) {
+        String key = after.getKeys().get(0);
+        LocalDateTime startTime = key == null ? null : LocalDateTime.parse(key);
+
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(rows.get(mid), startTime, after.getId()) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(ProgramPublicDto row, ProgramCursor after) {
+        int byDate = row.getStartDate().compareTo(after.getStartDate());
+        return byDate != 0 ? byDate : Long.compare(row.getId(), after.getId());
+    }
+
+    private static int compare(ScreeningPublicDto row, LocalDateTime startTime, long id) {
+        LocalDateTime rowTime = row.getStartTime();
+        if (rowTime == null && startTime != null) return 1;
+        if (rowTime != null && startTime == null) return -1;
+        if (rowTime != null) {
+            int byTime = rowTime.compareTo(startTime);
+            if (byTime != 0) return byTime;
+        }
+        return Long.compare(row.getId(), id);
+    }
+}
@@ -0,0 +1,170 @@
+package cinema.backend.schedule;
+
+import cinema.backend.dto.program.ProgramPublicDto;
+import cinema.backend.dto.screening.ScreeningPublicDto;
+import cinema.backend.model.Role;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.ProgramSpecifications;
+import cinema.backend.repository.ScreeningRepository;
+import cinema.backend.repository.VersionSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static cinema.backend.util.TransactionHooks.afterCommit;
+
+// Το δημόσιο πρόγραμμα κρατιέται ως ένα immutable PublicSchedule που αντικαθίσταται ολόκληρο.
+// Οι δημόσιες αναγνώσεις το διαβάζουν χωρίς βάση· ξαναχτίζεται μετά το commit κάθε αλλαγής
+// που το επηρεάζει και μία φορά στην εκκίνηση.
+// Για αλλαγές από άλλα nodes: κάθε snapshot θυμάται το VersionSummary των programs από το οποίο χτίστηκε
+// και, όταν περάσει το revalidate-after, το συγκρίνει με τη βάση (ένα aggregate στον πίνακα program).
+// Αρκεί αυτό: τα screenings ενός ANNOUNCED program δεν αλλάζουν πια, ενώ η είσοδος/έξοδος από ANNOUNCED,
+// οι αλλαγές programmers και τα deletes αλλάζουν το summary.
+@Component
+public class PublicScheduleSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicScheduleSnapshot.class);
+
+    private final AtomicReference<PublicSchedule> current = new AtomicReference<>();
+    // το VersionSummary των programs του τρέχοντος snapshot και πότε ελέγχθηκε τελευταία φορά
+    private volatile String builtFrom;
+    private volatile long checkedAt;
+    private final long revalidateAfterNanos;
+    private final ProgramRepository programRepository;
+    private final ScreeningRepository screeningRepository;
+    private final ProgramPublicViews programPublicViews;
+    private final TransactionTemplate readTransaction;
+
+    public PublicScheduleSnapshot(ProgramRepository programRepository,
+                                  ScreeningRepository screeningRepository,
+                                  ProgramPublicViews programPublicViews,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${cinema.cache.revalidate-after:PT1S}") Duration revalidateAfter) {
+        this.programRepository = programRepository;
+        this.screeningRepository = screeningRepository;
+        this.programPublicViews = programPublicViews;
+
+        // δικό του transaction: το rebuild τρέχει και μέσα σε afterCommit άλλου transaction
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+    }
+
+    // null μέχρι το πρώτο build· τότε οι αναγνώσεις πηγαίνουν στη βάση
+    public PublicSchedule current() {
+        PublicSchedule schedule = current.get();
+        if (schedule == null || System.nanoTime() - checkedAt < revalidateAfterNanos) {
+            return schedule;
+        }
+
+        String version = versionOf(programRepository.summarizeVersions());
+        if (version.equals(builtFrom)) {
+            checkedAt = System.nanoTime();
+            return schedule;
+        }
+        try {
+            rebuildIfChanged(version);
+        } catch (RuntimeException e) {
+            current.set(null);
+            log.error("Public schedule rebuild failed, serving from the database", e);
+        }
+        return current.get();
+    }
+
+    // για αναγνώσεις που δεν έχουν fallback στη βάση: χτίζει το snapshot αν λείπει
+    public PublicSchedule require() {
+        PublicSchedule schedule = current();
+        if (schedule != null) return schedule;
+        rebuild();
+        return current.get();
+    }
+
+    // ηλικία του τρέχοντος snapshot (null πριν το πρώτο build)
+    public Duration age() {
+        PublicSchedule schedule = current.get();
+        return schedule == null ? null : schedule.age();
+    }
+
+    public void refresh() {
+        afterCommit(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                // το commit έχει ήδη γίνει: αντί για παλιό πρόγραμμα, οι αναγνώσεις γυρίζουν στη βάση
+                current.set(null);
+                log.error("Public schedule rebuild failed, serving from the database", e);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    // synchronized: κάθε build ξεκινά μετά το προηγούμενο, οπότε το τελευταίο που μπαίνει βλέπει και το τελευταίο commit
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        String[] version = new String[1];
+        PublicSchedule schedule = readTransaction.execute(status -> {
+            // πριν από το load: αλλαγή που γίνεται commit στο μεταξύ φαίνεται στον επόμενο έλεγχο
+            version[0] = versionOf(programRepository.summarizeVersions());
+            return load();
+        });
+        builtFrom = version[0];
+        checkedAt = System.nanoTime();
+        current.set(schedule);
+
+        log.info("Public schedule rebuilt: {} programs, {} screenings in {} ms",
+                schedule.programs().size(),
+                schedule.screenings().values().stream().mapToInt(List::size).sum(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    // πολλά requests βρίσκουν μαζί την ίδια αλλαγή: χτίζει μόνο το πρώτο
+    private synchronized void rebuildIfChanged(String version) {
+        if (!version.equals(builtFrom) || current.get() == null) {
+            rebuild();
+        }
+    }
+
+    private static String versionOf(VersionSummary summary) {
+        return summary.getCount() + ":" + summary.getVersions() + ":" + summary.getIds();
+    }
+
+    private PublicSchedule load() {
+        // ίδιο query και ίδια σειρά με τη λίστα από τη βάση, ώστε τα cursors να ισχύουν και στα δύο
+        List<ProgramPublicDto> programs = programPublicViews.withLists(programRepository.findPublic(
+                ProgramSpecifications.visibleInList(Role.VISITOR, null)
+                        .and(ProgramSpecifications.orderByStartDate()), Integer.MAX_VALUE));
+
+        Map<Long, List<ScreeningPublicDto>> rows = new HashMap<>();
+        for (ProgramPublicDto program : programs) {
+            rows.put(program.getId(), new ArrayList<>());
+        }
+        if (!rows.isEmpty()) {
+            for (ScreeningPublicDto dto : screeningRepository.findScheduledPublic(rows.keySet())) {
+                rows.get(dto.getProgramId()).add(dto);
+            }
+        }
+
+        Map<Long, List<ScreeningPublicDto>> screenings = new HashMap<>();
+        rows.forEach((programId, list) -> screenings.put(programId, List.copyOf(list)));
+        return new PublicSchedule(programs, screenings, Instant.now());
+    }
+}
@@ -0,0 +1,191 @@
+package cinema.backend.schedule;
+
+import cinema.backend.dto.program.ProgramPublicDto;
+import cinema.backend.dto.screening.ScreeningPublicDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+// Feeds του δημόσιου προγράμματος (iCalendar, NDJSON) για partner sites και kiosks.
+// Κάθε feed αποδίδεται μία φορά ανά snapshot, μαζί με την gzip μορφή του, και σερβίρεται από μνήμη.
+@Component
+public class ScheduleFeeds {
+
+    public enum Format {
+        ICALENDAR(new MediaType("text", "calendar", StandardCharsets.UTF_8)),
+        NDJSON(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+    }
+
+    private static final DateTimeFormatter LOCAL_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final int ICAL_LINE_OCTETS = 75;
+
+    private final PublicScheduleSnapshot publicSchedule;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<Rendered> rendered = new AtomicReference<>();
+
+    public ScheduleFeeds(PublicScheduleSnapshot publicSchedule, ObjectMapper objectMapper) {
+        this.publicSchedule = publicSchedule;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Το feed ενός ANNOUNCED program από το τρέχον snapshot, ή null αν το program δεν είναι δημόσιο.
+     */
+    public Feed feed(Long programId, Format format) {
+        PublicSchedule schedule = publicSchedule.require();
+        if (!schedule.contains(programId)) {
+            return null;
+        }
+
+        // νέο snapshot: τα feeds του προηγούμενου δεν ισχύουν πια
+        Rendered current = rendered.updateAndGet(r -> r != null && r.schedule() == schedule ? r : new Rendered(schedule));
+        return current.feeds().computeIfAbsent(new Key(programId, format), key -> render(schedule, key));
+    }
+
+    private Feed render(PublicSchedule schedule, Key key) {
+        ProgramPublicDto program = schedule.programs().stream()
+                .filter(p -> p.getId().equals(key.programId()))
+                .findFirst()
+                .orElse(null);
+        List<ScreeningPublicDto> screenings = schedule.screenings().get(key.programId());
+
+        byte[] body = key.format() == Format.ICALENDAR
+                ? calendar(program, screenings, schedule).getBytes(StandardCharsets.UTF_8)
+                : ndjson(screenings);
+
+        String version = "feed-" + key.programId() + "-" + key.format().name().toLowerCase()
+                + "-" + schedule.builtAt().toEpochMilli();
+        return new Feed(key.format().mediaType(), body, gzip(body), "\"" + version + "\"", "\"" + version + "-gz\"");
+    }
+
+    private byte[] ndjson(List<ScreeningPublicDto> screenings) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            for (ScreeningPublicDto screening : screenings) {
+                out.write(objectMapper.writeValueAsBytes(screening));
+                out.write('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render NDJSON feed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static String calendar(ProgramPublicDto program, List<ScreeningPublicDto> screenings, PublicSchedule schedule) {
+        StringBuilder ics = new StringBuilder();
+        line(ics, "BEGIN:VCALENDAR");
+        line(ics, "VERSION:2.0");
+        line(ics, "PRODID:-//Cinema//Public Schedule//EN");
+        line(ics, "CALSCALE:GREGORIAN");
+        if (program != null && program.getName() != null) {
+            line(ics, "X-WR-CALNAME:" + escape(program.getName()));
+        }
+
+        String stamp = UTC_TIME.format(schedule.builtAt());
+        for (ScreeningPublicDto screening : screenings) {
+            // χωρίς ώρα έναρξης δεν υπάρχει event στο ημερολόγιο
+            if (screening.getStartTime() == null) continue;
+
+            line(ics, "BEGIN:VEVENT");
+            line(ics, "UID:screening-" + screening.getId() + "@cinema");
+            line(ics, "DTSTAMP:" + stamp);
+            line(ics, "DTSTART:" + LOCAL_TIME.format(screening.getStartTime()));
+            if (screening.getEndTime() != null) {
+                line(ics, "DTEND:" + LOCAL_TIME.format(screening.getEndTime()));
+            }
+            line(ics, "SUMMARY:" + escape(screening.getFilmTitle()));
+            if (screening.getAuditoriumName() != null) {
+                line(ics, "LOCATION:" + escape(screening.getAuditoriumName()));
+            }
+            if (screening.getFilmGenres() != null) {
+                line(ics, "CATEGORIES:" + Arrays.stream(screening.getFilmGenres().split(","))
+                        .map(String::trim)
+                        .filter(genre -> !genre.isEmpty())
+                        .map(ScheduleFeeds::escape)
+                        .collect(Collectors.joining(",")));
+            }
+            line(ics, "END:VEVENT");
+        }
+
+        line(ics, "END:VCALENDAR");
+        return ics.toString();
+    }
+
+    // RFC 5545: γραμμές έως 75 octets, οι συνέχειες ξεκινούν με κενό
+    private static void line(StringBuilder ics, String content) {
+        int octets = 0;
+        int i = 0;
+        while (i < content.length()) {
+            int codePoint = content.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > ICAL_LINE_OCTETS) {
+                ics.append("\r\n ");
+                octets = 1;
+            }
+            ics.appendCodePoint(codePoint);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        ics.append("\r\n");
+    }
+
+    private static String escape(String text) {
+        if (text == null) return "";
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public record Feed(MediaType mediaType, byte[] body, byte[] gzipped, String etag, String gzippedEtag) {
+    }
+
+    private record Key(Long programId, Format format) {
+    }
+
+    private record Rendered(PublicSchedule schedule, Map<Key, Feed> feeds) {
+        Rendered(PublicSchedule schedule) {
+            this(schedule, new ConcurrentHashMap<>());
+        }
+    }
+}
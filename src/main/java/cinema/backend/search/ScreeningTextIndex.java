@@ -0,0 +1,285 @@
+package cinema.backend.search;
+
+import cinema.backend.model.Screening;
+import cinema.backend.repository.ProgramSummaryRepository;
+import cinema.backend.repository.ScreeningRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import static cinema.backend.util.TransactionHooks.afterCommit;
+
+// Inverted index ανά program για filmTitle / filmCast / filmGenres, πάνω στην κανονική μορφή
+// του SearchText (χωρίς τόνους, πεζά) που αποθηκεύεται ήδη στα search* πεδία.
+// Σημασία ίδια με το παλιό containsAllWords: κάθε λέξη του κριτηρίου (χωρισμένη σε κενά) πρέπει να
+// υπάρχει ως substring στο πεδίο. Κάθε token μπαίνει με όλα τα suffixes του, οπότε ένα prefix lookup
+// στο sorted map δίνει τους υποψήφιους, και το contains ελέγχεται μετά στο αποθηκευμένο πεδίο
+// (μια λέξη όπως "sci-fi" δεν ταιριάζει με "Sci Fi", παρότι έχουν τα ίδια tokens).
+// Φορτώνεται μία φορά ανά program και μετά ενημερώνεται incrementally μετά το commit. Αλλαγές από
+// άλλα nodes, bulk UPDATE και import: κάθε program κρατά το ProgramSummary.version με το οποίο
+// φορτώθηκε και, όταν περάσει το revalidate-after, το συγκρίνει με τη βάση και ξαναφορτώνεται.
+// Κρατιούνται το πολύ max-programs programs· όταν γεμίσει φεύγει αυτό που χρησιμοποιήθηκε παλαιότερα.
+@Component
+public class ScreeningTextIndex {
+
+    public enum Field { TITLE, CAST, GENRES }
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("\\s+");
+
+    private final Map<Long, ProgramIndex> programs = new ConcurrentHashMap<>();
+    private final ScreeningRepository screeningRepository;
+    private final ProgramSummaryRepository summaryRepository;
+    private final long revalidateAfterNanos;
+    private final int maxPrograms;
+
+    public ScreeningTextIndex(ScreeningRepository screeningRepository,
+                              ProgramSummaryRepository summaryRepository,
+                              @Value("${cinema.cache.revalidate-after:PT1S}") Duration revalidateAfter,
+                              @Value("${cinema.cache.text-index.max-programs:200}") int maxPrograms) {
+        this.screeningRepository = screeningRepository;
+        this.summaryRepository = summaryRepository;
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+        this.maxPrograms = Math.max(1, maxPrograms);
+    }
+
+    /**
+     * Τα ids των screenings του program που περιέχουν όλες τις λέξεις κάθε κριτηρίου,
+     * ή null αν δεν δόθηκε κανένα κριτήριο κειμένου.
+     */
+    public Set<Long> match(Long programId, String title, String cast, String genres) {
+        Map<Field, List<String>> query = new EnumMap<>(Field.class);
+        addQuery(query, Field.TITLE, title);
+        addQuery(query, Field.CAST, cast);
+        addQuery(query, Field.GENRES, genres);
+        if (query.isEmpty()) {
+            return null;
+        }
+        return current(programId).match(query);
+    }
+
+    public void index(Screening screening) {
+        if (screening.getProgram() == null || screening.getId() == null) return;
+        Long programId = screening.getProgram().getId();
+        afterCommit(() -> programs.computeIfPresent(programId, (id, index) -> {
+            index.put(screening.getId(), SearchText.normalize(screening.getFilmTitle()),
+                    SearchText.normalize(screening.getFilmCast()), SearchText.normalize(screening.getFilmGenres()));
+            return index;
+        }));
+    }
+
+    public void remove(Long programId, Long screeningId) {
+        if (programId == null || screeningId == null) return;
+        afterCommit(() -> programs.computeIfPresent(programId, (id, index) -> {
+            index.remove(screeningId);
+            return index;
+        }));
+    }
+
+    public void evictProgram(Long programId) {
+        if (programId == null) return;
+        afterCommit(() -> programs.remove(programId));
+    }
+
+    public void clear() {
+        programs.clear();
+    }
+
+    int size() {
+        return programs.size();
+    }
+
+    private ProgramIndex current(Long programId) {
+        ProgramIndex index = programs.computeIfAbsent(programId, this::load);
+        long now = System.nanoTime();
+        index.usedAt = now;
+        if (programs.size() > maxPrograms) {
+            evictLeastRecentlyUsed(programId);
+        }
+        if (now - index.checkedAt < revalidateAfterNanos) {
+            return index;
+        }
+
+        long version = currentVersion(programId);
+        if (version == index.version) {
+            index.checkedAt = now;
+            return index;
+        }
+
+        // άλλαξε κάποιο screening (εδώ ή σε άλλο node) μετά το load: ξαναφορτώνεται ολόκληρο
+        ProgramIndex fresh = load(programId);
+        programs.put(programId, fresh);
+        return fresh;
+    }
+
+    // O(n) στο πλήθος των programs, μόνο όταν φορτώνεται program πέρα από το όριο
+    private synchronized void evictLeastRecentlyUsed(Long keep) {
+        while (programs.size() > maxPrograms) {
+            Map.Entry<Long, ProgramIndex> oldest = null;
+            for (Map.Entry<Long, ProgramIndex> entry : programs.entrySet()) {
+                if (entry.getKey().equals(keep)) continue;
+                if (oldest == null || entry.getValue().usedAt - oldest.getValue().usedAt < 0) {
+                    oldest = entry;
+                }
+            }
+            if (oldest == null) return;
+            programs.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private long currentVersion(Long programId) {
+        return summaryRepository.findVersionByProgramId(programId).orElse(-1L);
+    }
+
+    // text σε κανονική μορφή
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text)) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static void addQuery(Map<Field, List<String>> query, Field field, String text) {
+        if (text == null || text.isBlank()) return;
+        query.put(field, List.of(WORD_SEPARATOR.split(SearchText.normalize(text).trim())));
+    }
+
+    private ProgramIndex load(Long programId) {
+        // το version διαβάζεται πρώτο: αλλαγή που γίνεται commit στο μεταξύ φαίνεται στον επόμενο έλεγχο
+        ProgramIndex index = new ProgramIndex(currentVersion(programId), System.nanoTime());
+        for (ScreeningRepository.TextFields row : screeningRepository.findTextFieldsByProgramId(programId)) {
+            index.put(row.getId(), row.getSearchTitle(), row.getSearchCast(), row.getSearchGenres());
+        }
+        return index;
+    }
+
+    private static final class ProgramIndex {
+
+        private final Map<Field, NavigableMap<String, Set<Long>>> postings = new EnumMap<>(Field.class);
+        private final Map<Long, String[]> documents = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final long version;
+        private volatile long checkedAt;
+        private volatile long usedAt;
+
+        ProgramIndex(long version, long checkedAt) {
+            this.version = version;
+            this.checkedAt = checkedAt;
+            this.usedAt = checkedAt;
+            for (Field field : Field.values()) {
+                postings.put(field, new TreeMap<>());
+            }
+        }
+
+        void put(Long id, String title, String cast, String genres) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(id);
+                String[] fields = {title, cast, genres};
+                documents.put(id, fields);
+                for (Field field : Field.values()) {
+                    NavigableMap<String, Set<Long>> map = postings.get(field);
+                    for (String suffix : suffixes(fields[field.ordinal()])) {
+                        map.computeIfAbsent(suffix, k -> new HashSet<>()).add(id);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        Set<Long> match(Map<Field, List<String>> query) {
+            lock.readLock().lock();
+            try {
+                // κάθε token μιας λέξης βρίσκεται μέσα σε κάποιο token του πεδίου που την περιέχει
+                List<Set<Long>> candidates = new ArrayList<>();
+                for (Map.Entry<Field, List<String>> entry : query.entrySet()) {
+                    NavigableMap<String, Set<Long>> map = postings.get(entry.getKey());
+                    for (String word : entry.getValue()) {
+                        for (String token : tokenize(word)) {
+                            Set<Long> ids = new HashSet<>();
+                            for (Set<Long> posting : map.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                                ids.addAll(posting);
+                            }
+                            if (ids.isEmpty()) return Collections.emptySet();
+                            candidates.add(ids);
+                        }
+                    }
+                }
+
+                // intersection ξεκινώντας από το μικρότερο posting list· λέξεις μόνο με σύμβολα δεν περιορίζουν
+                candidates.sort(Comparator.comparingInt(Set::size));
+                Set<Long> result = new HashSet<>(candidates.isEmpty() ? documents.keySet() : candidates.get(0));
+                for (int i = 1; i < candidates.size() && !result.isEmpty(); i++) {
+                    result.retainAll(candidates.get(i));
+                }
+                result.removeIf(id -> !containsAll(documents.get(id), query));
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private static boolean containsAll(String[] fields, Map<Field, List<String>> query) {
+            for (Map.Entry<Field, List<String>> entry : query.entrySet()) {
+                String text = fields[entry.getKey().ordinal()];
+                if (text == null) return false;
+                for (String word : entry.getValue()) {
+                    if (!text.contains(word)) return false;
+                }
+            }
+            return true;
+        }
+
+        private void removeUnlocked(Long id) {
+            String[] fields = documents.remove(id);
+            if (fields == null) return;
+            for (Field field : Field.values()) {
+                NavigableMap<String, Set<Long>> map = postings.get(field);
+                for (String suffix : suffixes(fields[field.ordinal()])) {
+                    Set<Long> posting = map.get(suffix);
+                    if (posting == null) continue;
+                    posting.remove(id);
+                    if (posting.isEmpty()) map.remove(suffix);
+                }
+            }
+        }
+
+        private static Set<String> suffixes(String text) {
+            Set<String> suffixes = new HashSet<>();
+            for (String token : tokenize(text)) {
+                for (int i = 0; i < token.length(); i++) {
+                    suffixes.add(token.substring(i));
+                }
+            }
+            return suffixes;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package cinema.backend.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Κανονική μορφή κειμένου για αναζήτηση: χωρίς τόνους/διακριτικά, πεζά, και τελικό ς -> σ,
+// ώστε "Ψυχώ", "ΨΥΧΩ" και "ψυχω" να ταιριάζουν μεταξύ τους.
+public class SearchText {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private SearchText() {
+
+    }
+
+    public static String normalize(String text) {
+        if (text == null) return null;
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .replace('ς', 'σ');
+    }
+}
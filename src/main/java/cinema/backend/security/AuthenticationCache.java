@@ -0,0 +1,100 @@
+package cinema.backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Cache επιτυχημένων Basic authentications ώστε να μην τρέχει BCrypt σε κάθε request.
+// Το κλειδί είναι HMAC(username:password) με τυχαίο secret ανά process, οπότε δεν κρατάμε ποτέ raw κωδικούς.
+@Component
+public class AuthenticationCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final SecretKeySpec secret;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public AuthenticationCache(@Value("${cinema.security.auth-cache.ttl:PT5M}") Duration ttl,
+                               @Value("${cinema.security.auth-cache.max-entries:10000}") int maxEntries) {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.secret = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public String keyFor(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secret);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot compute credential hash", e);
+        }
+    }
+
+    public Authentication get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+
+        if (entry.expiresAt - System.nanoTime() <= 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.authentication;
+    }
+
+    public void put(String key, Long userId, Authentication authentication) {
+        if (ttlNanos <= 0 || maxEntries <= 0) return;
+
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+        }
+        // αν είναι ακόμα γεμάτο, πετάμε τυχαία entries: ένα miss κοστίζει απλώς ένα BCrypt
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+
+        entries.put(key, new Entry(userId, authentication, System.nanoTime() + ttlNanos));
+    }
+
+    // Καλείται όταν αλλάζει password/role ή διαγράφεται ο χρήστης.
+    public void invalidateUser(Long userId) {
+        if (userId == null) return;
+        entries.values().removeIf(e -> userId.equals(e.userId));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(e -> e.expiresAt - now <= 0);
+    }
+
+    private record Entry(Long userId, Authentication authentication, long expiresAt) {
+    }
+}
@@ -0,0 +1,121 @@
+package cinema.backend.security;
+
+import cinema.backend.repository.ProgramRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static cinema.backend.util.TransactionHooks.afterCommit;
+
+// (programId, userId) -> bitmask ρόλων μέσα στο program.
+// Φορτώνεται ανά program (μόνο ids, χωρίς collections) και ενημερώνεται incrementally μετά το commit.
+// Αλλαγές από άλλα nodes: κάθε entry κρατά το Program.version με το οποίο φορτώθηκε και, όταν περάσει
+// το revalidate-after, το συγκρίνει με τη βάση (ένα lookup με PK) και ξαναφορτώνεται αν έχει αλλάξει.
+@Component
+public class ProgramAccessIndex {
+
+    public static final int PROGRAMMER = 1;
+    public static final int STAFF = 1 << 1;
+    public static final int CREATOR = 1 << 2;
+
+    private final Map<Long, Entry> programs = new ConcurrentHashMap<>();
+    private final ProgramRepository programRepository;
+    private final long revalidateAfterNanos;
+
+    public ProgramAccessIndex(ProgramRepository programRepository,
+                              @Value("${cinema.cache.revalidate-after:PT1S}") Duration revalidateAfter) {
+        this.programRepository = programRepository;
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+    }
+
+    public int roles(Long programId, Long userId) {
+        if (programId == null || userId == null) return 0;
+        return members(programId).getOrDefault(userId, 0);
+    }
+
+    public boolean isProgrammer(Long programId, Long userId) {
+        return (roles(programId, userId) & PROGRAMMER) != 0;
+    }
+
+    public boolean isStaff(Long programId, Long userId) {
+        return (roles(programId, userId) & STAFF) != 0;
+    }
+
+    public boolean isCreator(Long programId, Long userId) {
+        return (roles(programId, userId) & CREATOR) != 0;
+    }
+
+    public void grant(Long programId, Long userId, int role) {
+        if (programId == null || userId == null) return;
+        afterCommit(() -> programs.computeIfPresent(programId, (id, entry) -> {
+            entry.members.merge(userId, role, (a, b) -> a | b);
+            return entry;
+        }));
+    }
+
+    public void evictProgram(Long programId) {
+        if (programId == null) return;
+        afterCommit(() -> programs.remove(programId));
+    }
+
+    public void clear() {
+        programs.clear();
+    }
+
+    private Map<Long, Integer> members(Long programId) {
+        Entry entry = programs.computeIfAbsent(programId, this::load);
+        long now = System.nanoTime();
+        if (now - entry.checkedAt < revalidateAfterNanos) {
+            return entry.members;
+        }
+
+        long version = currentVersion(programId);
+        if (version == entry.version) {
+            entry.checkedAt = now;
+            return entry.members;
+        }
+
+        // άλλαξε (εδώ ή σε άλλο node) μετά το load: ξαναφορτώνεται ολόκληρο
+        Entry fresh = load(programId);
+        programs.put(programId, fresh);
+        return fresh.members;
+    }
+
+    private long currentVersion(Long programId) {
+        return programRepository.findVersionById(programId)
+                .map(ProgramRepository.ProgramVersion::getVersion)
+                .orElse(-1L);
+    }
+
+    private Entry load(Long programId) {
+        // το version διαβάζεται πρώτο: αλλαγή που γίνεται commit στο μεταξύ φαίνεται στον επόμενο έλεγχο
+        long version = currentVersion(programId);
+
+        Map<Long, Integer> members = new ConcurrentHashMap<>();
+        for (Long userId : programRepository.findProgrammerIds(programId)) {
+            members.merge(userId, PROGRAMMER, (a, b) -> a | b);
+        }
+        for (Long userId : programRepository.findStaffIds(programId)) {
+            members.merge(userId, STAFF, (a, b) -> a | b);
+        }
+        programRepository.findCreatorId(programId)
+                .ifPresent(userId -> members.merge(userId, CREATOR, (a, b) -> a | b));
+        return new Entry(version, members, System.nanoTime());
+    }
+
+    private static final class Entry {
+
+        private final long version;
+        private final Map<Long, Integer> members;
+        private volatile long checkedAt;
+
+        Entry(long version, Map<Long, Integer> members, long checkedAt) {
+            this.version = version;
+            this.members = members;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package cinema.backend.security;
+
+import cinema.backend.config.RateLimitProperties;
+import cinema.backend.exception.ApiErrorResponse;
+import cinema.backend.ratelimit.RateLimiterBackend;
+import cinema.backend.util.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Rate limiting σε επίπεδο servlet: οι πολιτικές έρχονται από το application.yml (cinema.rate-limit)
+// και η απόρριψη γίνεται εδώ, πριν το request φτάσει σε Spring MVC ή στη βάση.
+// Ένα instance ανά KeyType: οι IP πολιτικές τρέχουν πριν από κάθε authentication (lookup χρήστη, BCrypt),
+// οι PRINCIPAL μετά, όταν ο χρήστης είναι γνωστός.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final RateLimiterBackend backend;
+    private final ObjectMapper objectMapper;
+    private final RateLimitProperties.KeyType keyType;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiterBackend backend, ObjectMapper objectMapper,
+                           RateLimitProperties.KeyType keyType) {
+        this.properties = properties;
+        this.backend = backend;
+        this.objectMapper = objectMapper;
+        this.keyType = keyType;
+    }
+
+    // δύο instances της ίδιας κλάσης στο chain: το καθένα χρειάζεται δικό του "already filtered" attribute
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return super.getAlreadyFilteredAttributeName() + "." + keyType.name();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        RateLimitProperties.Policy policy = properties.isEnabled() ? findPolicy(request) : null;
+        if (policy == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Decision decision = backend.acquire(keyFor(policy, request), policy.getLimit(), policy.getWindow());
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(policy.getLimit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+
+        if (!decision.allowed()) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L));
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ApiErrorResponse(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many requests, please slow down.", request.getRequestURI()));
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private RateLimitProperties.Policy findPolicy(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitProperties.Policy policy : properties.getPolicies()) {
+            if (policy.getKey() != keyType) continue;
+            if (policy.getMethod() != null && !policy.getMethod().equalsIgnoreCase(request.getMethod())) continue;
+            if (pathMatcher.match(policy.getPattern(), path)) return policy;
+        }
+        return null;
+    }
+
+    private String keyFor(RateLimitProperties.Policy policy, HttpServletRequest request) {
+        if (policy.getKey() == RateLimitProperties.KeyType.PRINCIPAL) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return policy.getName() + ":user:" + authentication.getName();
+            }
+        }
+        return policy.getName() + ":ip:" + clientAddress(request);
+    }
+
+    // Πίσω από load balancer το remoteAddr είναι ο LB: παίρνουμε την εγγραφή του X-Forwarded-For
+    // που πρόσθεσε ο πιο εξωτερικός δικός μας proxy (οι προηγούμενες μπορεί να είναι πλαστές από τον client).
+    private String clientAddress(HttpServletRequest request) {
+        int hops = properties.getForwardedHops();
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (hops <= 0 || forwarded == null || forwarded.isBlank()) {
+            return request.getRemoteAddr();
+        }
+
+        String[] addresses = forwarded.split(",");
+        int index = Math.max(0, addresses.length - hops);
+        return addresses[index].trim();
+    }
+}
@@ -0,0 +1,91 @@
+package cinema.backend.security;
+
+import cinema.backend.model.Role;
+import cinema.backend.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+// Υπογεγραμμένα (HMAC-SHA256) self-contained tokens: "<payload>.<signature>", payload = userId:role:expiresAt:username.
+// Ο έλεγχος γίνεται μόνο με το κοινό secret, χωρίς βάση και χωρίς session state.
+@Component
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec secret;
+    private final Duration ttl;
+
+    public TokenService(@Value("${cinema.security.token.secret:}") String secret,
+                        @Value("${cinema.security.token.ttl:PT8H}") Duration ttl) {
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            log.warn("cinema.security.token.secret is not set; tokens will only be valid on this node until restart");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.secret = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.ttl = ttl;
+    }
+
+    public IssuedToken issue(User user) {
+        Instant expiresAt = Instant.now().plus(ttl);
+        String payload = user.getId() + ":" + user.getRole().name() + ":" + expiresAt.getEpochSecond() + ":" + user.getUsername();
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return new IssuedToken(encodedPayload + "." + ENCODER.encodeToString(sign(encodedPayload)), expiresAt);
+    }
+
+    // Επιστρέφει detached User (id, username, role) ή null αν το token είναι άκυρο/ληγμένο.
+    public User verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) return null;
+
+        String encodedPayload = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(encodedPayload))) return null;
+
+            String[] parts = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split(":", 4);
+            if (parts.length != 4) return null;
+            if (Instant.now().getEpochSecond() >= Long.parseLong(parts[2])) return null;
+
+            User user = new User();
+            user.setId(Long.valueOf(parts[0]));
+            user.setRole(Role.valueOf(parts[1]));
+            user.setUsername(parts[3]);
+            return user;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secret);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign token", e);
+        }
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+}
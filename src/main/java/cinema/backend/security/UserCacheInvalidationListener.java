@@ -0,0 +1,23 @@
+package cinema.backend.security;
+
+import cinema.backend.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+// JPA listener του User: όταν αλλάξει password/role (ή σβηστεί ο χρήστης) πετάμε τα cached credentials του.
+@Component
+public class UserCacheInvalidationListener {
+
+    private final AuthenticationCache authenticationCache;
+
+    public UserCacheInvalidationListener(AuthenticationCache authenticationCache) {
+        this.authenticationCache = authenticationCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        authenticationCache.invalidateUser(user.getId());
+    }
+}
@@ -0,0 +1,41 @@
+package cinema.backend.security;
+
+import cinema.backend.model.Role;
+import cinema.backend.model.User;
+
+// Η ταυτότητα των ανώνυμων επισκεπτών: φτιάχνεται μία φορά, δεν αποθηκεύεται στη βάση και δεν αλλάζει.
+public final class VisitorUser extends User {
+
+    public static final VisitorUser INSTANCE = new VisitorUser();
+
+    private VisitorUser() {
+        super.setUsername("visitor");
+        super.setFullName("Visitor User");
+        super.setRole(Role.VISITOR);
+    }
+
+    @Override
+    public void setId(Long id) {
+        throw new UnsupportedOperationException("Visitor identity is immutable");
+    }
+
+    @Override
+    public void setUsername(String username) {
+        throw new UnsupportedOperationException("Visitor identity is immutable");
+    }
+
+    @Override
+    public void setPassword(String password) {
+        throw new UnsupportedOperationException("Visitor identity is immutable");
+    }
+
+    @Override
+    public void setRole(Role role) {
+        throw new UnsupportedOperationException("Visitor identity is immutable");
+    }
+
+    @Override
+    public void setFullName(String fullName) {
+        throw new UnsupportedOperationException("Visitor identity is immutable");
+    }
+}
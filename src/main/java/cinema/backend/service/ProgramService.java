@@ -1,20 +1,26 @@
 package cinema.backend.service;
 
+import cinema.backend.dto.CursorPage;
+import cinema.backend.dto.program.ProgramPublicDto;
 import cinema.backend.dto.program.ProgramSearchRequest;
 import cinema.backend.model.Program;
 import cinema.backend.model.ProgramState;
-
-import java.util.List;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.VersionSummary;
 
 public interface ProgramService {
 
     Program createProgram(Program program);
 
 
-    List<Program> getAllPrograms();
+    CursorPage<ProgramPublicDto> getProgramsPage(String cursor, int size);
 
     Program getProgramById(Long id);
 
+    ProgramRepository.ProgramVersion getProgramVersion(Long id);
+
+    VersionSummary getProgramsVersion();
+
     Program updateProgram(Long id, Program updated);
 
     void deleteProgram(Long id);
@@ -26,5 +32,5 @@ public interface ProgramService {
     Program changeProgramState(Long programId, ProgramState newState);
 
 
-    List<Program> searchPrograms(ProgramSearchRequest criteria);
+    CursorPage<ProgramPublicDto> searchPrograms(ProgramSearchRequest criteria, String cursor, int size);
 }
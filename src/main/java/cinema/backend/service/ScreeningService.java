@@ -1,14 +1,26 @@
 package cinema.backend.service;
 
+import cinema.backend.dto.CursorPage;
+import cinema.backend.dto.screening.ScreeningBatchItem;
+import cinema.backend.dto.screening.ScreeningBatchResult;
+import cinema.backend.dto.screening.ScreeningImportResult;
+import cinema.backend.dto.screening.ScreeningPublicDto;
 import cinema.backend.dto.screening.ScreeningSearchRequest;
 import cinema.backend.model.Screening;
+import cinema.backend.repository.ScreeningRepository;
+import cinema.backend.repository.ScreeningRepositoryCustom.VisibleScreening;
+import cinema.backend.repository.VersionSummary;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ScreeningService {
 
     Screening createScreening(Long programId, Screening screening);
 
+    List<ScreeningImportResult> importScreenings(Long programId, Iterator<Screening> screenings);
+
     Screening updateScreening(Long screeningId, Screening updated);
 
     void withdrawScreening(Long screeningId);
@@ -27,9 +39,25 @@ public interface ScreeningService {
 
     Screening acceptScreening(Long screeningId);
 
+    List<ScreeningBatchResult> runBatch(Long programId, List<ScreeningBatchItem> items);
+
     Screening getScreeningById(Long screeningId);
 
-    List<Screening> getAllForProgram(Long programId);
+    ScreeningRepository.ScreeningVersion getScreeningVersion(Long screeningId);
+
+    VersionSummary getScreeningsVersion(Long programId);
+
+    CursorPage<VisibleScreening> getScreeningsPage(Long programId, String cursor, int size);
+
+    CursorPage<ScreeningPublicDto> getPublicScreeningsPage(Long programId, String cursor, int size);
+
+    void forEachScreening(Long programId, Consumer<VisibleScreening> action);
+
+    void checkCanExport(Long programId);
+
+    void exportScreenings(Long programId, Consumer<Screening> action);
+
+    CursorPage<Screening> searchScreenings(Long programId, ScreeningSearchRequest criteria, String cursor, int size);
 
-    List<Screening> searchScreenings(Long programId, ScreeningSearchRequest criteria);
+    CursorPage<ScreeningPublicDto> searchPublicScreenings(Long programId, ScreeningSearchRequest criteria, String cursor, int size);
 }
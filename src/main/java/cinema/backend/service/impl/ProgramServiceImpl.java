@@ -1,22 +1,33 @@
 package cinema.backend.service.impl;
 
+import cinema.backend.dto.CursorPage;
+import cinema.backend.dto.program.ProgramPublicDto;
 import cinema.backend.dto.program.ProgramSearchRequest;
 import cinema.backend.exception.ForbiddenException;
 import cinema.backend.model.Program;
 import cinema.backend.model.ProgramState;
 import cinema.backend.model.Role;
 import cinema.backend.model.User;
+import cinema.backend.repository.ProgramCursor;
 import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.ProgramSpecifications;
+import cinema.backend.repository.ScreeningRepository;
 import cinema.backend.repository.UserRepository;
+import cinema.backend.repository.VersionSummary;
+import cinema.backend.schedule.ProgramPublicViews;
+import cinema.backend.schedule.PublicScheduleSnapshot;
+import cinema.backend.search.ScreeningTextIndex;
+import cinema.backend.security.ProgramAccessIndex;
 import cinema.backend.service.ProgramService;
 import cinema.backend.service.UserService;
+import cinema.backend.summary.ProgramSummaries;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -26,6 +37,12 @@ public class ProgramServiceImpl implements ProgramService {
     private final ProgramRepository programRepository;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final ProgramAccessIndex programAccessIndex;
+    private final ScreeningTextIndex screeningTextIndex;
+    private final ProgramPublicViews programPublicViews;
+    private final PublicScheduleSnapshot publicSchedule;
+    private final ProgramSummaries programSummaries;
+    private final ScreeningRepository screeningRepository;
 
 
     private static final Map<ProgramState, ProgramState> NEXT = Map.of(
@@ -38,6 +55,8 @@ public class ProgramServiceImpl implements ProgramService {
             ProgramState.DECISION, ProgramState.ANNOUNCED
     );
 
+    private static final String AUTO_REJECT_REASON = "Automatically rejected: not finally submitted before DECISION";
+
     @Override
     public Program createProgram(Program program) {
         User current = userService.getOrCreateCurrentUser();
@@ -67,53 +86,45 @@ public class ProgramServiceImpl implements ProgramService {
         program.getProgrammers().addAll(programmers);
 
 
+        // ο current έρχεται detached από το principal: παίρνουμε το managed instance για να μη διπλοεγγραφεί στο Set
         if (current.getRole() == Role.PROGRAMMER) {
-            program.getProgrammers().add(current);
+            program.getProgrammers().add(userRepository.getReferenceById(current.getId()));
         }
 
-        return programRepository.save(program);
+        Program saved = programRepository.save(program);
+        programSummaries.programCreated(saved);
+
+        programAccessIndex.grant(saved.getId(), current.getId(), ProgramAccessIndex.CREATOR);
+        for (User programmer : saved.getProgrammers()) {
+            programAccessIndex.grant(saved.getId(), programmer.getId(), ProgramAccessIndex.PROGRAMMER);
+        }
+        return saved;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Program> getAllPrograms() {
-        User current = userService.getOrCreateCurrentUser();
-
-        // VISITOR / USER
-        if (current.getRole() == null || current.getRole() == Role.VISITOR || current.getRole() == Role.USER) {
-            return programRepository.findByState(ProgramState.ANNOUNCED);
-        }
-
-        // SUBMITTER
-        if (current.getRole() == Role.SUBMITTER) {
-            Set<Program> out = new LinkedHashSet<>();
-            out.addAll(programRepository.findByState(ProgramState.ANNOUNCED));
-            out.addAll(programRepository.findProgramsCreatedBy(current.getId()));
-            return new ArrayList<>(out);
-        }
-
-        // STAFF
-        if (current.getRole() == Role.STAFF) {
-            Set<Program> out = new LinkedHashSet<>();
-            out.addAll(programRepository.findByState(ProgramState.ANNOUNCED));
-            out.addAll(programRepository.findProgramsWhereUserIsStaff(current.getId()));
-            out.addAll(programRepository.findProgramsWhereUserIsHandler(current.getId()));
-            return new ArrayList<>(out);
-        }
+    public CursorPage<ProgramPublicDto> getProgramsPage(String cursor, int size) {
+        return page(visibleInList(userService.getOrCreateCurrentUser()), cursor, size);
+    }
 
-        // PROGRAMMER
-        if (current.getRole() == Role.PROGRAMMER) {
-            Set<Program> out = new LinkedHashSet<>();
-            out.addAll(programRepository.findByState(ProgramState.ANNOUNCED));
-            out.addAll(programRepository.findProgramsWhereUserIsProgrammer(current.getId()));
-            out.addAll(programRepository.findProgramsCreatedBy(current.getId()));
-            // optional:
-            out.addAll(programRepository.findProgramsWithNoProgrammers());
-            return new ArrayList<>(out);
+    // μία γραμμή παραπάνω δείχνει αν υπάρχει επόμενη σελίδα· οι λίστες φορτώνονται μόνο για τη σελίδα
+    private CursorPage<ProgramPublicDto> page(Specification<Program> spec, String cursor, int size) {
+        ProgramCursor after = (cursor == null || cursor.isBlank()) ? null : ProgramCursor.decode(cursor);
+        List<ProgramPublicDto> rows = programRepository.findPublic(spec
+                .and(ProgramSpecifications.after(after))
+                .and(ProgramSpecifications.orderByStartDate()), size + 1);
+
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            next = ProgramCursor.after(rows.get(size - 1)).encode();
         }
+        return new CursorPage<>(programPublicViews.withLists(rows), next);
+    }
 
-        // fallback
-        return programRepository.findByState(ProgramState.ANNOUNCED);
+    // όλοι οι κανόνες του ρόλου σε ένα query (OR από EXISTS) αντί για ένα query ανά κανόνα
+    private static Specification<Program> visibleInList(User current) {
+        return ProgramSpecifications.visibleInList(current.getRole(), current.getId());
     }
 
     @Override
@@ -122,29 +133,49 @@ public class ProgramServiceImpl implements ProgramService {
         Program program = programRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Program not found: " + id));
 
+        checkCanView(program.getId(), program.getState());
+        return program;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProgramRepository.ProgramVersion getProgramVersion(Long id) {
+        ProgramRepository.ProgramVersion version = programRepository.findVersionById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Program not found: " + id));
+
+        checkCanView(version.getId(), version.getState());
+        return version;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersionSummary getProgramsVersion() {
+        return programRepository.summarizeVersions();
+    }
+
+    private void checkCanView(Long programId, ProgramState state) {
         User current = userService.getOrCreateCurrentUser();
 
 
-        if (program.getState() == ProgramState.ANNOUNCED) return program;
+        if (state == ProgramState.ANNOUNCED) return;
 
         if (current.getRole() == null || current.getRole() == Role.VISITOR || current.getRole() == Role.USER) {
             throw new ForbiddenException("You are not allowed to view this program");
         }
 
-        boolean isCreator = program.getCreator() != null && program.getCreator().getId().equals(current.getId());
-        boolean isProgrammer = program.getProgrammers() != null && program.getProgrammers().stream()
-                .anyMatch(u -> u.getId().equals(current.getId()));
-        boolean isStaff = program.getStaff() != null && program.getStaff().stream()
-                .anyMatch(u -> u.getId().equals(current.getId()));
+        int roles = programAccessIndex.roles(programId, current.getId());
+        boolean isCreator = (roles & ProgramAccessIndex.CREATOR) != 0;
+        boolean isProgrammer = (roles & ProgramAccessIndex.PROGRAMMER) != 0;
+        boolean isStaff = (roles & ProgramAccessIndex.STAFF) != 0;
 
         // SUBMITTER
-        if (current.getRole() == Role.SUBMITTER && isCreator) return program;
+        if (current.getRole() == Role.SUBMITTER && isCreator) return;
 
         // PROGRAMMER
-        if (current.getRole() == Role.PROGRAMMER && (isProgrammer || isCreator)) return program;
+        if (current.getRole() == Role.PROGRAMMER && (isProgrammer || isCreator)) return;
 
         // STAFF
-        if (current.getRole() == Role.STAFF && isStaff) return program;
+        if (current.getRole() == Role.STAFF && isStaff) return;
 
         throw new ForbiddenException("You are not allowed to view this program");
     }
@@ -154,8 +185,7 @@ public class ProgramServiceImpl implements ProgramService {
         Program existing = getProgramById(id);
         User current = userService.getOrCreateCurrentUser();
 
-        boolean isProgrammer = existing.getProgrammers() != null &&
-                existing.getProgrammers().stream().anyMatch(u -> u.getId().equals(current.getId()));
+        boolean isProgrammer = programAccessIndex.isProgrammer(existing.getId(), current.getId());
 
         if (current.getRole() != Role.PROGRAMMER || !isProgrammer) {
             throw new ForbiddenException("Only assigned programmer can update program");
@@ -166,7 +196,11 @@ public class ProgramServiceImpl implements ProgramService {
         existing.setStartDate(updated.getStartDate());
         existing.setEndDate(updated.getEndDate());
 
-        return programRepository.save(existing);
+        Program saved = programRepository.save(existing);
+        if (saved.getState() == ProgramState.ANNOUNCED) {
+            publicSchedule.refresh();
+        }
+        return saved;
     }
 
     @Override
@@ -174,14 +208,20 @@ public class ProgramServiceImpl implements ProgramService {
         Program existing = getProgramById(id);
         User current = userService.getOrCreateCurrentUser();
 
-        boolean isProgrammer = existing.getProgrammers() != null &&
-                existing.getProgrammers().stream().anyMatch(u -> u.getId().equals(current.getId()));
+        boolean isProgrammer = programAccessIndex.isProgrammer(existing.getId(), current.getId());
 
         if (current.getRole() != Role.PROGRAMMER || !isProgrammer) {
             throw new ForbiddenException("Only assigned programmer can delete program");
         }
 
+        boolean announced = existing.getState() == ProgramState.ANNOUNCED;
+        programSummaries.programDeleted(id);
         programRepository.delete(existing);
+        programAccessIndex.evictProgram(id);
+        screeningTextIndex.evictProgram(id);
+        if (announced) {
+            publicSchedule.refresh();
+        }
     }
 
     @Override
@@ -189,8 +229,7 @@ public class ProgramServiceImpl implements ProgramService {
         Program p = getProgramById(programId);
         User current = userService.getOrCreateCurrentUser();
 
-        boolean isProgrammer = p.getProgrammers() != null &&
-                p.getProgrammers().stream().anyMatch(u -> u.getId().equals(current.getId()));
+        boolean isProgrammer = programAccessIndex.isProgrammer(p.getId(), current.getId());
 
         if (current.getRole() != Role.PROGRAMMER || !isProgrammer) {
             throw new ForbiddenException("Only programmer of this program can add programmers");
@@ -198,9 +237,17 @@ public class ProgramServiceImpl implements ProgramService {
 
         User u = userService.getUserByUsername(username);
         if (p.getProgrammers() == null) p.setProgrammers(new HashSet<>());
-        p.getProgrammers().add(u);
+        boolean added = p.getProgrammers().add(u);
 
-        return programRepository.save(p);
+        Program saved = programRepository.save(p);
+        if (added) {
+            programSummaries.programmerAdded(saved.getId());
+        }
+        programAccessIndex.grant(saved.getId(), u.getId(), ProgramAccessIndex.PROGRAMMER);
+        if (saved.getState() == ProgramState.ANNOUNCED) {
+            publicSchedule.refresh();
+        }
+        return saved;
     }
 
     @Override
@@ -208,8 +255,7 @@ public class ProgramServiceImpl implements ProgramService {
         Program p = getProgramById(programId);
         User current = userService.getOrCreateCurrentUser();
 
-        boolean isProgrammer = p.getProgrammers() != null &&
-                p.getProgrammers().stream().anyMatch(u -> u.getId().equals(current.getId()));
+        boolean isProgrammer = programAccessIndex.isProgrammer(p.getId(), current.getId());
 
         if (current.getRole() != Role.PROGRAMMER || !isProgrammer) {
             throw new ForbiddenException("Only programmer of this program can add staff");
@@ -217,9 +263,14 @@ public class ProgramServiceImpl implements ProgramService {
 
         User u = userService.getUserByUsername(username);
         if (p.getStaff() == null) p.setStaff(new HashSet<>());
-        p.getStaff().add(u);
+        boolean added = p.getStaff().add(u);
 
-        return programRepository.save(p);
+        Program saved = programRepository.save(p);
+        if (added) {
+            programSummaries.staffAdded(saved.getId());
+        }
+        programAccessIndex.grant(saved.getId(), u.getId(), ProgramAccessIndex.STAFF);
+        return saved;
     }
 
     @Override
@@ -227,8 +278,7 @@ public class ProgramServiceImpl implements ProgramService {
         Program p = getProgramById(programId);
         User current = userService.getOrCreateCurrentUser();
 
-        boolean isProgrammer = p.getProgrammers() != null &&
-                p.getProgrammers().stream().anyMatch(u -> u.getId().equals(current.getId()));
+        boolean isProgrammer = programAccessIndex.isProgrammer(p.getId(), current.getId());
 
         if (current.getRole() != Role.PROGRAMMER || !isProgrammer) {
             throw new ForbiddenException("Only assigned programmer can change program state");
@@ -241,19 +291,40 @@ public class ProgramServiceImpl implements ProgramService {
                     " (expected: " + expected + ")");
         }
 
+        // το δημόσιο πρόγραμμα αλλάζει όταν ένα program μπαίνει ή βγαίνει από το ANNOUNCED
+        boolean affectsPublicSchedule = p.getState() == ProgramState.ANNOUNCED || newState == ProgramState.ANNOUNCED;
+
         p.setState(newState);
-        return programRepository.save(p);
+        Program saved = programRepository.save(p);
+
+        // side-effects του DECISION ως ένα set-based UPDATE, όσα screenings κι αν έχει το program
+        if (newState == ProgramState.DECISION) {
+            int rejected = screeningRepository.rejectNotFinalSubmitted(saved.getId(), AUTO_REJECT_REASON);
+            if (rejected > 0) {
+                programSummaries.screeningsChanged(saved.getId());
+            }
+        }
+
+        if (affectsPublicSchedule) {
+            publicSchedule.refresh();
+        }
+        return saved;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Program> searchPrograms(ProgramSearchRequest criteria) {
-        List<Program> base = getAllPrograms();
-        if (criteria == null) return base;
-
-        return base.stream()
-                .filter(p -> criteria.getName() == null || criteria.getName().isBlank()
-                        || (p.getName() != null && p.getName().toLowerCase().contains(criteria.getName().toLowerCase())))
-                .collect(Collectors.toList());
+    public CursorPage<ProgramPublicDto> searchPrograms(ProgramSearchRequest criteria, String cursor, int size) {
+        User current = userService.getOrCreateCurrentUser();
+
+        // όλα τα κριτήρια στο ίδιο query με την ορατότητα· η σελίδα σταματά στις size + 1 γραμμές
+        Specification<Program> spec = visibleInList(current);
+        if (criteria != null) {
+            spec = spec.and(ProgramSpecifications.nameContains(criteria.getName()))
+                    .and(ProgramSpecifications.descriptionContains(criteria.getDescription()))
+                    .and(ProgramSpecifications.startsBetween(criteria.getStartDateFrom(), criteria.getStartDateTo()))
+                    .and(ProgramSpecifications.hasScreening(criteria.getFilmTitle(), criteria.getAuditoriumName(),
+                            current.getId()));
+        }
+        return page(spec, cursor, size);
     }
 }
@@ -1,6 +1,12 @@
 package cinema.backend.service.impl;
 
+import cinema.backend.dto.CursorPage;
+import cinema.backend.dto.screening.ScreeningBatchItem;
+import cinema.backend.dto.screening.ScreeningBatchResult;
+import cinema.backend.dto.screening.ScreeningImportResult;
+import cinema.backend.dto.screening.ScreeningPublicDto;
 import cinema.backend.dto.screening.ScreeningSearchRequest;
+import cinema.backend.exception.ForbiddenException;
 import cinema.backend.model.Program;
 import cinema.backend.model.ProgramState;
 import cinema.backend.model.Role;
@@ -8,82 +14,149 @@ import cinema.backend.model.Screening;
 import cinema.backend.model.ScreeningState;
 import cinema.backend.model.User;
 import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.ScreeningCursor;
 import cinema.backend.repository.ScreeningRepository;
+import cinema.backend.repository.ScreeningRepositoryCustom.VisibleScreening;
+import cinema.backend.repository.ScreeningSpecifications;
+import cinema.backend.repository.UserRepository;
+import cinema.backend.repository.VersionSummary;
+import cinema.backend.search.ScreeningTextIndex;
+import cinema.backend.security.ProgramAccessIndex;
 import cinema.backend.service.ScreeningService;
 import cinema.backend.service.UserService;
+import cinema.backend.summary.ProgramSummaries;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ScreeningServiceImpl implements ScreeningService {
 
+    // ό,τι διαβάζει ο ScreeningMapper για κάθε γραμμή λίστας, στο ίδιο query (fetch graph)
+    private static final List<String> LIST_FETCH = List.of("submitter", "handler");
+
+    private static final int MAX_BATCH_ITEMS = 500;
+
+    // ίδιο με το hibernate.jdbc.batch_size και το allocationSize του screening_seq
+    private static final int IMPORT_BATCH_SIZE = 50;
+    private static final int MAX_IMPORT_ROWS = 50_000;
+
+    // το default length των κειμένων του Screening (VARCHAR(255))
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    // πάνω από τόσα ids του text index, το φίλτρο κειμένου πηγαίνει στη βάση ως LIKE αντί για IN
+    private static final int MAX_ID_FILTER = 1000;
+
     private final ScreeningRepository screeningRepository;
     private final ProgramRepository programRepository;
     private final UserService userService;
+    private final UserRepository userRepository;
+    private final ProgramAccessIndex programAccessIndex;
+    private final ScreeningTextIndex screeningTextIndex;
+    private final ProgramSummaries programSummaries;
 
     public ScreeningServiceImpl(ScreeningRepository screeningRepository,
                                 ProgramRepository programRepository,
-                                UserService userService) {
+                                UserService userService,
+                                UserRepository userRepository,
+                                ProgramAccessIndex programAccessIndex,
+                                ScreeningTextIndex screeningTextIndex,
+                                ProgramSummaries programSummaries) {
         this.screeningRepository = screeningRepository;
         this.programRepository = programRepository;
         this.userService = userService;
+        this.userRepository = userRepository;
+        this.programAccessIndex = programAccessIndex;
+        this.screeningTextIndex = screeningTextIndex;
+        this.programSummaries = programSummaries;
     }
 
 
     @Override
     public Screening createScreening(Long programId, Screening screening) {
-        Program program = programRepository.findById(programId)
-                .orElseThrow(() -> new IllegalArgumentException("Program not found: " + programId));
+        Program program = findProgramOrThrow(programId);
+        User currentUser = checkCanCreateIn(program);
 
-        if (program.getState() != ProgramState.SUBMISSION) {
-            throw new IllegalStateException("Screenings can be created only while program is in SUBMISSION");
-        }
+        prepareNew(program, currentUser, screening);
 
-        User currentUser = userService.getOrCreateCurrentUser();
-
-        if (currentUser.getRole() == null || currentUser.getRole() == Role.VISITOR) {
-            throw new IllegalStateException("Only authenticated users can create screenings");
-        }
+        Screening saved = screeningRepository.save(screening);
+        programSummaries.screeningAdded(program.getId(), saved.getState());
+        screeningTextIndex.index(saved);
+        return saved;
+    }
 
+    @Override
+    public List<ScreeningImportResult> importScreenings(Long programId, Iterator<Screening> screenings) {
+        Program program = findProgramOrThrow(programId);
+        // οι κανόνες του createScreening για program και χρήστη ελέγχονται μία φορά για όλο το import
+        User currentUser = checkCanCreateIn(program);
+
+        List<ScreeningImportResult> results = new ArrayList<>();
+        List<Screening> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<Integer> batchRows = new ArrayList<>(IMPORT_BATCH_SIZE);
+        int row = 0;
+        int imported = 0;
+        while (screenings.hasNext()) {
+            if (row == MAX_IMPORT_ROWS) {
+                throw new IllegalArgumentException("Import can contain at most " + MAX_IMPORT_ROWS + " screenings");
+            }
+            row++;
+
+            // IllegalArgumentException από το next(): η γραμμή δεν διαβάστηκε ως screening, οι επόμενες συνεχίζουν
+            Screening screening;
+            try {
+                screening = screenings.next();
+                prepareNew(program, currentUser, screening);
+            } catch (IllegalArgumentException e) {
+                results.add(ScreeningImportResult.failed(row, e.getMessage()));
+                continue;
+            }
+            batch.add(screening);
+            batchRows.add(row);
 
-        boolean isAssignedProgrammer = program.getProgrammers() != null &&
-                program.getProgrammers().stream().anyMatch(u -> u.getId().equals(currentUser.getId()));
-        if (isAssignedProgrammer) {
-            throw new IllegalStateException("Programmer cannot submit screenings in his/her own program");
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                imported += insert(batch, batchRows, results);
+            }
         }
+        imported += insert(batch, batchRows, results);
 
-
-        boolean isStaff = program.getStaff() != null &&
-                program.getStaff().stream().anyMatch(u -> u.getId().equals(currentUser.getId()));
-        if (isStaff) {
-            throw new IllegalStateException("Staff members cannot submit screenings in their own program");
+        // ένα recount και ένα rebuild του text index αντί για ενημέρωση ανά γραμμή
+        if (imported > 0) {
+            programSummaries.screeningsChanged(programId);
+            screeningTextIndex.evictProgram(programId);
         }
 
-        screening.setId(null);
-        screening.setProgram(program);
-        screening.setSubmitter(currentUser);
-        screening.setState(ScreeningState.CREATED);
-        screening.setCreationDate(LocalDateTime.now());
+        results.sort(Comparator.comparingInt(ScreeningImportResult::getRow));
+        return results;
+    }
 
-        screening.setHandler(null);
-        screening.setReviewScore(null);
-        screening.setReviewComments(null);
-        screening.setApprovalNotes(null);
-        screening.setRejectionReason(null);
-        screening.setFinalSubmitted(false);
+    private int insert(List<Screening> batch, List<Integer> batchRows, List<ScreeningImportResult> results) {
+        if (batch.isEmpty()) return 0;
 
-        validateDuration(screening);
-
-        return screeningRepository.save(screening);
+        screeningRepository.insertAll(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            results.add(ScreeningImportResult.ok(batchRows.get(i), batch.get(i).getId()));
+        }
+        int inserted = batch.size();
+        batch.clear();
+        batchRows.clear();
+        return inserted;
     }
 
     @Override
@@ -107,9 +180,13 @@ public class ScreeningServiceImpl implements ScreeningService {
         existing.setStartTime(updated.getStartTime());
         existing.setEndTime(updated.getEndTime());
 
+        validateLengths(existing);
         validateDuration(existing);
 
-        return screeningRepository.save(existing);
+        Screening saved = screeningRepository.save(existing);
+        programSummaries.screeningChanged(saved.getProgram().getId());
+        screeningTextIndex.index(saved);
+        return saved;
     }
 
     @Override
@@ -126,6 +203,8 @@ public class ScreeningServiceImpl implements ScreeningService {
         }
 
         screeningRepository.delete(existing);
+        programSummaries.screeningRemoved(existing.getProgram().getId(), existing.getState());
+        screeningTextIndex.remove(existing.getProgram().getId(), existing.getId());
     }
 
     @Override
@@ -149,7 +228,9 @@ public class ScreeningServiceImpl implements ScreeningService {
         validateComplete(existing);
 
         existing.setState(ScreeningState.SUBMITTED);
-        return screeningRepository.save(existing);
+        Screening saved = screeningRepository.save(existing);
+        programSummaries.screeningMoved(program.getId(), ScreeningState.CREATED, ScreeningState.SUBMITTED);
+        return saved;
     }
 
 
@@ -157,50 +238,13 @@ public class ScreeningServiceImpl implements ScreeningService {
     public Screening assignHandler(Long screeningId, String staffUsername) {
         Screening screening = findByIdOrThrow(screeningId);
         Program program = screening.getProgram();
-        User currentUser = userService.getOrCreateCurrentUser();
-
-
-        if (currentUser.getRole() != Role.PROGRAMMER) {
-            throw new IllegalStateException("Only PROGRAMMER can assign handlers");
-        }
-
-
-        boolean isProgrammerOfThisProgram = program.getProgrammers() != null &&
-                program.getProgrammers().stream().anyMatch(u -> u.getId().equals(currentUser.getId()));
-        if (!isProgrammerOfThisProgram) {
-            throw new IllegalStateException("Only the assigned PROGRAMMER of this program can assign handlers");
-        }
-
-        if (program.getState() != ProgramState.ASSIGNMENT) {
-            throw new IllegalStateException("Handlers can be assigned only during ASSIGNMENT state");
-        }
-
-        if (screening.getState() != ScreeningState.SUBMITTED) {
-            throw new IllegalStateException("Only SUBMITTED screenings can be assigned to staff");
-        }
+        checkProgrammerOf(program, userService.getOrCreateCurrentUser(), "assign handlers");
 
-        if (screening.getHandler() != null) {
-            throw new IllegalStateException("Handler has already been assigned for this screening");
-        }
-
-        User staffUser = userService.getUserByUsername(staffUsername);
-
-        if (staffUser.getRole() != Role.STAFF) {
-            throw new IllegalStateException("Assigned handler must have STAFF role");
-        }
-
-
-        if (program.getStaff() == null) {
-            program.setStaff(new HashSet<>());
-        }
-        boolean alreadyStaff = program.getStaff().stream().anyMatch(u -> u.getId().equals(staffUser.getId()));
-        if (!alreadyStaff) {
-            program.getStaff().add(staffUser);
-            programRepository.save(program);
-        }
-
-        screening.setHandler(staffUser);
-        return screeningRepository.save(screening);
+        checkAssignable(program, screening);
+        assign(program, screening, userService.getUserByUsername(staffUsername));
+        Screening saved = screeningRepository.save(screening);
+        programSummaries.screeningChanged(program.getId());
+        return saved;
     }
 
     @Override
@@ -222,11 +266,14 @@ public class ScreeningServiceImpl implements ScreeningService {
             throw new IllegalStateException("Only SUBMITTED/REVIEWED screenings can be reviewed");
         }
 
+        ScreeningState from = screening.getState();
         screening.setReviewScore(score);
         screening.setReviewComments(comments);
         screening.setState(ScreeningState.REVIEWED);
 
-        return screeningRepository.save(screening);
+        Screening saved = screeningRepository.save(screening);
+        programSummaries.screeningMoved(program.getId(), from, ScreeningState.REVIEWED);
+        return saved;
     }
 
     @Override
@@ -253,41 +300,23 @@ public class ScreeningServiceImpl implements ScreeningService {
         screening.setRejectionReason(null);
         screening.setState(ScreeningState.APPROVED);
 
-        return screeningRepository.save(screening);
+        Screening saved = screeningRepository.save(screening);
+        programSummaries.screeningMoved(program.getId(), ScreeningState.REVIEWED, ScreeningState.APPROVED);
+        return saved;
     }
 
     @Override
     public Screening rejectScreening(Long screeningId, String reason) {
         Screening screening = findByIdOrThrow(screeningId);
         Program program = screening.getProgram();
-        User currentUser = userService.getOrCreateCurrentUser();
+        checkProgrammerOf(program, userService.getOrCreateCurrentUser(), "reject screenings");
 
+        ScreeningState from = screening.getState();
+        reject(program, screening, reason);
 
-        if (currentUser.getRole() != Role.PROGRAMMER) {
-            throw new IllegalStateException("Only PROGRAMMER can reject screenings");
-        }
-        boolean isProgrammerOfThisProgram = program.getProgrammers() != null &&
-                program.getProgrammers().stream().anyMatch(u -> u.getId().equals(currentUser.getId()));
-        if (!isProgrammerOfThisProgram) {
-            throw new IllegalStateException("Only the assigned PROGRAMMER of this program can reject screenings");
-        }
-
-        if (program.getState() != ProgramState.SCHEDULING && program.getState() != ProgramState.DECISION) {
-            throw new IllegalStateException("Screenings can be rejected only in SCHEDULING or DECISION state");
-        }
-
-        if (screening.getState() == ScreeningState.SCHEDULED || screening.getState() == ScreeningState.REJECTED) {
-            throw new IllegalStateException("Cannot reject an already scheduled or rejected screening");
-        }
-
-        if (reason == null || reason.isBlank()) {
-            throw new IllegalArgumentException("Rejection reason is required");
-        }
-
-        screening.setRejectionReason(reason);
-        screening.setState(ScreeningState.REJECTED);
-
-        return screeningRepository.save(screening);
+        Screening saved = screeningRepository.save(screening);
+        programSummaries.screeningMoved(program.getId(), from, ScreeningState.REJECTED);
+        return saved;
     }
 
     @Override
@@ -309,88 +338,439 @@ public class ScreeningServiceImpl implements ScreeningService {
         }
 
         screening.setFinalSubmitted(true);
-        return screeningRepository.save(screening);
+        Screening saved = screeningRepository.save(screening);
+        programSummaries.screeningChanged(program.getId());
+        return saved;
     }
 
     @Override
     public Screening acceptScreening(Long screeningId) {
         Screening screening = findByIdOrThrow(screeningId);
         Program program = screening.getProgram();
-        User currentUser = userService.getOrCreateCurrentUser();
+        checkProgrammerOf(program, userService.getOrCreateCurrentUser(), "accept screenings");
 
-        if (currentUser.getRole() != Role.PROGRAMMER) {
-            throw new IllegalStateException("Only PROGRAMMER can accept screenings");
-        }
-        boolean isProgrammerOfThisProgram = program.getProgrammers() != null &&
-                program.getProgrammers().stream().anyMatch(u -> u.getId().equals(currentUser.getId()));
-        if (!isProgrammerOfThisProgram) {
-            throw new IllegalStateException("Only the assigned PROGRAMMER of this program can accept screenings");
-        }
+        accept(program, screening);
+        Screening saved = screeningRepository.save(screening);
+        programSummaries.screeningMoved(program.getId(), ScreeningState.APPROVED, ScreeningState.SCHEDULED);
+        return saved;
+    }
 
-        if (program.getState() != ProgramState.DECISION) {
-            throw new IllegalStateException("Screenings can be accepted only during DECISION state");
+    @Override
+    public List<ScreeningBatchResult> runBatch(Long programId, List<ScreeningBatchItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (items.size() > MAX_BATCH_ITEMS) {
+            throw new IllegalArgumentException("Batch can contain at most " + MAX_BATCH_ITEMS + " items");
+        }
+
+        // ο έλεγχος δικαιωμάτων γίνεται μία φορά για όλο το batch
+        Program program = findProgramOrThrow(programId);
+        checkProgrammerOf(program, userService.getOrCreateCurrentUser(), "run screening batches");
+
+        // ένα query για τα screenings και ένα για τους handlers, αντί για δύο ανά item
+        Set<Long> ids = items.stream()
+                .map(ScreeningBatchItem::getScreeningId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Screening> screenings = new HashMap<>();
+        if (!ids.isEmpty()) {
+            screeningRepository.findByProgramIdAndIdIn(programId, ids).forEach(s -> screenings.put(s.getId(), s));
+        }
+
+        Set<String> usernames = items.stream()
+                .filter(item -> item.getAction() == ScreeningBatchItem.Action.ASSIGN_HANDLER)
+                .map(ScreeningBatchItem::getHandlerUsername)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, User> handlers = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            userRepository.findByUsernameIn(usernames).forEach(u -> handlers.put(u.getUsername(), u));
+        }
+
+        List<ScreeningBatchResult> results = new ArrayList<>(items.size());
+        boolean changed = false;
+        for (ScreeningBatchItem item : items) {
+            Screening screening = screenings.get(item.getScreeningId());
+            try {
+                if (screening == null) {
+                    throw new IllegalArgumentException("Screening not found in this program: " + item.getScreeningId());
+                }
+                if (item.getAction() == null) {
+                    throw new IllegalArgumentException("Action is required");
+                }
+
+                switch (item.getAction()) {
+                    case ASSIGN_HANDLER -> {
+                        checkAssignable(program, screening);
+                        User staffUser = handlers.get(item.getHandlerUsername());
+                        if (staffUser == null) {
+                            throw new IllegalArgumentException("User not found: " + item.getHandlerUsername());
+                        }
+                        assign(program, screening, staffUser);
+                    }
+                    case ACCEPT -> accept(program, screening);
+                    case REJECT -> reject(program, screening, item.getReason());
+                }
+                changed = true;
+                results.add(ScreeningBatchResult.ok(item, screening.getState().name()));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                // οι έλεγχοι προηγούνται κάθε αλλαγής: το item που αποτυγχάνει δεν έχει αγγίξει το screening
+                results.add(ScreeningBatchResult.failed(item,
+                        screening == null ? null : screening.getState().name(), e.getMessage()));
+            }
         }
 
-        if (screening.getState() != ScreeningState.APPROVED || !screening.isFinalSubmitted()) {
-            throw new IllegalStateException("Only APPROVED and finally submitted screenings can be scheduled");
+        // τα UPDATE φεύγουν στο flush του commit ως JDBC batch· το summary ξαναμετριέται μία φορά
+        if (changed) {
+            programSummaries.screeningsChanged(programId);
         }
-
-        screening.setState(ScreeningState.SCHEDULED);
-        return screeningRepository.save(screening);
+        return results;
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public Screening getScreeningById(Long screeningId) {
         return findByIdOrThrow(screeningId);
     }
 
     @Override
-    public List<Screening> getAllForProgram(Long programId) {
-        Program program = programRepository.findById(programId)
-                .orElseThrow(() -> new IllegalArgumentException("Program not found: " + programId));
-        return screeningRepository.findByProgramId(program.getId());
+    @Transactional(readOnly = true)
+    public ScreeningRepository.ScreeningVersion getScreeningVersion(Long screeningId) {
+        return screeningRepository.findVersionById(screeningId)
+                .orElseThrow(() -> new IllegalArgumentException("Screening not found: " + screeningId));
     }
 
     @Override
-    public List<Screening> searchScreenings(Long programId, ScreeningSearchRequest criteria) {
-        Program program = programRepository.findById(programId)
-                .orElseThrow(() -> new IllegalArgumentException("Program not found: " + programId));
+    @Transactional(readOnly = true)
+    public VersionSummary getScreeningsVersion(Long programId) {
+        return screeningRepository.summarizeVersionsByProgramId(programId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<VisibleScreening> getScreeningsPage(Long programId, String cursor, int size) {
+        Program program = findProgramOrThrow(programId);
+        User currentUser = userService.getOrCreateCurrentUser();
+
+        int roles = programAccessIndex.roles(program.getId(), currentUser.getId());
+
+        boolean isProgrammer = (roles & ProgramAccessIndex.PROGRAMMER) != 0;
+
+        boolean isStaffInProgram = (roles & ProgramAccessIndex.STAFF) != 0;
+
+        Specification<Screening> spec = listSpec(program, currentUser.getId(), isProgrammer, isStaffInProgram,
+                decodeCursor(cursor, ScreeningCursor.Order.START_TIME));
+
+        checkPageSize(size);
+        List<VisibleScreening> rows = screeningRepository.findVisible(spec, currentUser.getId(), isProgrammer, size + 1);
+        return toPage(rows, size, row -> ScreeningCursor.after(ScreeningCursor.Order.START_TIME, row.screening()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ScreeningPublicDto> getPublicScreeningsPage(Long programId, String cursor, int size) {
+        Program program = findProgramOrThrow(programId);
+
+        Specification<Screening> spec = listSpec(program, null, false, false,
+                decodeCursor(cursor, ScreeningCursor.Order.START_TIME));
+
+        return fetchPublicPage(spec, ScreeningCursor.Order.START_TIME, size);
+    }
+
+    // Όλη η ορατή λίστα χωρίς σελίδες: οι γραμμές περνούν στο action όσο διαβάζονται, μέσα στο transaction
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachScreening(Long programId, Consumer<VisibleScreening> action) {
+        Program program = findProgramOrThrow(programId);
+        User currentUser = userService.getOrCreateCurrentUser();
+
+        int roles = programAccessIndex.roles(program.getId(), currentUser.getId());
+
+        boolean isProgrammer = (roles & ProgramAccessIndex.PROGRAMMER) != 0;
+
+        boolean isStaffInProgram = (roles & ProgramAccessIndex.STAFF) != 0;
+
+        Specification<Screening> spec = listSpec(program, currentUser.getId(), isProgrammer, isStaffInProgram, null);
+        screeningRepository.forEachVisible(spec, currentUser.getId(), isProgrammer, action);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void checkCanExport(Long programId) {
+        User currentUser = userService.getOrCreateCurrentUser();
+        if (!programAccessIndex.isProgrammer(programId, currentUser.getId())) {
+            throw new ForbiddenException("Only the assigned PROGRAMMER of this program can export screenings");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportScreenings(Long programId, Consumer<Screening> action) {
+        checkCanExport(programId);
+        User currentUser = userService.getOrCreateCurrentUser();
+
+        Specification<Screening> spec = ScreeningSpecifications.inProgram(programId)
+                .and(ScreeningSpecifications.orderByStartTime());
+        screeningRepository.forEachVisible(spec, currentUser.getId(), true, row -> action.accept(row.screening()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Screening> searchScreenings(Long programId, ScreeningSearchRequest criteria, String cursor, int size) {
+        Program program = findProgramOrThrow(programId);
+        User currentUser = userService.getOrCreateCurrentUser();
+
+        int roles = programAccessIndex.roles(program.getId(), currentUser.getId());
+
+        boolean isProgrammerOfThisProgram = currentUser.getRole() == Role.PROGRAMMER
+                && (roles & ProgramAccessIndex.PROGRAMMER) != 0;
 
+        boolean isStaffInProgram = (roles & ProgramAccessIndex.STAFF) != 0;
+
+        Specification<Screening> spec = searchSpec(program, currentUser.getId(), isProgrammerOfThisProgram,
+                isStaffInProgram, criteria, decodeCursor(cursor, ScreeningCursor.Order.GENRES_TITLE));
+        if (spec == null) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        return fetchPage(spec, ScreeningCursor.Order.GENRES_TITLE, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ScreeningPublicDto> searchPublicScreenings(Long programId, ScreeningSearchRequest criteria,
+                                                                 String cursor, int size) {
+        Program program = findProgramOrThrow(programId);
+
+        Specification<Screening> spec = searchSpec(program, null, false, false, criteria,
+                decodeCursor(cursor, ScreeningCursor.Order.GENRES_TITLE));
+        if (spec == null) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        return fetchPublicPage(spec, ScreeningCursor.Order.GENRES_TITLE, size);
+    }
+
+    private Specification<Screening> listSpec(Program program, Long userId, boolean isProgrammer,
+                                              boolean isStaffInProgram, ScreeningCursor after) {
+        return ScreeningSpecifications.inProgram(program.getId())
+                .and(ScreeningSpecifications.visibleInList(userId, program.getState(), isProgrammer, isStaffInProgram))
+                .and(ScreeningSpecifications.after(after))
+                .and(ScreeningSpecifications.orderByStartTime());
+    }
+
+    // null όταν τα κριτήρια κειμένου δεν ταιριάζουν με τίποτα (δεν χρειάζεται query)
+    private Specification<Screening> searchSpec(Program program, Long userId, boolean isProgrammerOfThisProgram,
+                                                boolean isStaffInProgram, ScreeningSearchRequest criteria,
+                                                ScreeningCursor after) {
         ScreeningSearchRequest effectiveCriteria =
                 (criteria != null) ? criteria : new ScreeningSearchRequest();
 
+        // τα κριτήρια κειμένου λύνονται στο text index· στη βάση πηγαίνουν μόνο τα ids
+        Set<Long> textMatches = screeningTextIndex.match(program.getId(), effectiveCriteria.getFilmTitle(),
+                effectiveCriteria.getCast(), effectiveCriteria.getGenre());
+        if (textMatches != null && textMatches.isEmpty()) {
+            return null;
+        }
+
+        Specification<Screening> text = ScreeningSpecifications.idIn(textMatches);
+        if (textMatches != null && textMatches.size() > MAX_ID_FILTER) {
+            // πολύ γενικό κριτήριο: αντί για τεράστιο IN, το ίδιο φίλτρο ως LIKE στη βάση
+            text = ScreeningSpecifications.containsAllWords("searchTitle", effectiveCriteria.getFilmTitle())
+                    .and(ScreeningSpecifications.containsAllWords("searchCast", effectiveCriteria.getCast()))
+                    .and(ScreeningSpecifications.containsAllWords("searchGenres", effectiveCriteria.getGenre()));
+        }
+
+        return ScreeningSpecifications.inProgram(program.getId())
+                .and(ScreeningSpecifications.visibleInSearch(userId, program.getState(),
+                        isProgrammerOfThisProgram, isStaffInProgram))
+                .and(text)
+                .and(ScreeningSpecifications.startsBetween(effectiveCriteria.getDateFrom(), effectiveCriteria.getDateTo()))
+                .and(ScreeningSpecifications.after(after))
+                .and(ScreeningSpecifications.orderByGenresAndTitle());
+    }
+
+    private CursorPage<Screening> fetchPage(Specification<Screening> spec, ScreeningCursor.Order order, int size) {
+        checkPageSize(size);
+        List<Screening> rows = screeningRepository.findBy(spec, q -> q.project(LIST_FETCH).limit(size + 1).all());
+        return toPage(rows, size, row -> ScreeningCursor.after(order, row));
+    }
+
+    private CursorPage<ScreeningPublicDto> fetchPublicPage(Specification<Screening> spec, ScreeningCursor.Order order,
+                                                           int size) {
+        checkPageSize(size);
+        List<ScreeningPublicDto> rows = screeningRepository.findPublic(spec, size + 1);
+        return toPage(rows, size, row -> ScreeningCursor.after(order, row));
+    }
+
+    // Τα rows έχουν έρθει με limit size + 1: η επιπλέον γραμμή δείχνει μόνο ότι υπάρχει επόμενη σελίδα.
+    private static <T> CursorPage<T> toPage(List<T> rows, int size, Function<T, ScreeningCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<T> page = rows.subList(0, size);
+        return new CursorPage<>(page, cursorOf.apply(page.get(size - 1)).encode());
+    }
+
+    private static void checkPageSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+    }
+
+    private static ScreeningCursor decodeCursor(String cursor, ScreeningCursor.Order order) {
+        return (cursor == null || cursor.isBlank()) ? null : ScreeningCursor.decode(cursor, order);
+    }
+
+    // οι έλεγχοι του createScreening που δεν εξαρτώνται από το screening· επιστρέφει τον τρέχοντα χρήστη
+    private User checkCanCreateIn(Program program) {
+        if (program.getState() != ProgramState.SUBMISSION) {
+            throw new IllegalStateException("Screenings can be created only while program is in SUBMISSION");
+        }
+
         User currentUser = userService.getOrCreateCurrentUser();
 
-        List<Screening> all = screeningRepository.findByProgramId(programId);
+        if (currentUser.getRole() == null || currentUser.getRole() == Role.VISITOR) {
+            throw new IllegalStateException("Only authenticated users can create screenings");
+        }
 
 
-        boolean isProgrammerOfThisProgram = currentUser.getRole() == Role.PROGRAMMER
-                && program.getProgrammers() != null
-                && program.getProgrammers().stream().anyMatch(u -> u.getId().equals(currentUser.getId()));
+        int roles = programAccessIndex.roles(program.getId(), currentUser.getId());
+
+        boolean isAssignedProgrammer = (roles & ProgramAccessIndex.PROGRAMMER) != 0;
+        if (isAssignedProgrammer) {
+            throw new IllegalStateException("Programmer cannot submit screenings in his/her own program");
+        }
+
+
+        boolean isStaff = (roles & ProgramAccessIndex.STAFF) != 0;
+        if (isStaff) {
+            throw new IllegalStateException("Staff members cannot submit screenings in their own program");
+        }
+        return currentUser;
+    }
+
+    private void prepareNew(Program program, User currentUser, Screening screening) {
+        screening.setId(null);
+        screening.setProgram(program);
+        screening.setSubmitter(currentUser);
+        screening.setState(ScreeningState.CREATED);
+        screening.setCreationDate(LocalDateTime.now());
 
-        boolean isStaffInProgram = program.getStaff() != null &&
-                program.getStaff().stream().anyMatch(u -> u.getId().equals(currentUser.getId()));
+        screening.setHandler(null);
+        screening.setReviewScore(null);
+        screening.setReviewComments(null);
+        screening.setApprovalNotes(null);
+        screening.setRejectionReason(null);
+        screening.setFinalSubmitted(false);
+
+        validateLengths(screening);
+        validateDuration(screening);
+    }
 
-        return all.stream()
-                .filter(s -> userCanSeeScreeningInSearch(program, s, currentUser, isProgrammerOfThisProgram, isStaffInProgram))
-                .filter(s -> matchesText(s.getFilmTitle(), effectiveCriteria.getFilmTitle()))
-                .filter(s -> matchesText(s.getFilmCast(), effectiveCriteria.getCast()))
-                .filter(s -> matchesText(s.getFilmGenres(), effectiveCriteria.getGenre()))
-                .filter(s -> matchesDateRange(s, effectiveCriteria.getDateFrom(), effectiveCriteria.getDateTo()))
-                .sorted(Comparator
-                        .comparing(Screening::getFilmGenres, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
-                        .thenComparing(Screening::getFilmTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
-                .collect(Collectors.toList());
+    // ο caller πρέπει να είναι PROGRAMMER του συγκεκριμένου program
+    private void checkProgrammerOf(Program program, User currentUser, String action) {
+        if (currentUser.getRole() != Role.PROGRAMMER) {
+            throw new IllegalStateException("Only PROGRAMMER can " + action);
+        }
+        if (!programAccessIndex.isProgrammer(program.getId(), currentUser.getId())) {
+            throw new IllegalStateException("Only the assigned PROGRAMMER of this program can " + action);
+        }
     }
 
+    // κανόνες των βημάτων, κοινοί για τα μεμονωμένα endpoints και το batch· το summary το ενημερώνει ο caller
 
+    private void checkAssignable(Program program, Screening screening) {
+        if (program.getState() != ProgramState.ASSIGNMENT) {
+            throw new IllegalStateException("Handlers can be assigned only during ASSIGNMENT state");
+        }
+
+        if (screening.getState() != ScreeningState.SUBMITTED) {
+            throw new IllegalStateException("Only SUBMITTED screenings can be assigned to staff");
+        }
+
+        if (screening.getHandler() != null) {
+            throw new IllegalStateException("Handler has already been assigned for this screening");
+        }
+    }
+
+    private void assign(Program program, Screening screening, User staffUser) {
+        if (staffUser.getRole() != Role.STAFF) {
+            throw new IllegalStateException("Assigned handler must have STAFF role");
+        }
+
+        boolean alreadyStaff = programAccessIndex.isStaff(program.getId(), staffUser.getId());
+        if (!alreadyStaff) {
+            if (program.getStaff() == null) {
+                program.setStaff(new HashSet<>());
+            }
+            boolean added = program.getStaff().add(staffUser);
+            programRepository.save(program);
+            programAccessIndex.grant(program.getId(), staffUser.getId(), ProgramAccessIndex.STAFF);
+            if (added) {
+                programSummaries.staffAdded(program.getId());
+            }
+        }
+
+        screening.setHandler(staffUser);
+    }
+
+    private void reject(Program program, Screening screening, String reason) {
+        if (program.getState() != ProgramState.SCHEDULING && program.getState() != ProgramState.DECISION) {
+            throw new IllegalStateException("Screenings can be rejected only in SCHEDULING or DECISION state");
+        }
+
+        if (screening.getState() == ScreeningState.SCHEDULED || screening.getState() == ScreeningState.REJECTED) {
+            throw new IllegalStateException("Cannot reject an already scheduled or rejected screening");
+        }
+
+        if (reason == null || reason.isBlank()) {
+            throw new IllegalArgumentException("Rejection reason is required");
+        }
+
+        screening.setRejectionReason(reason);
+        screening.setState(ScreeningState.REJECTED);
+    }
+
+    private void accept(Program program, Screening screening) {
+        if (program.getState() != ProgramState.DECISION) {
+            throw new IllegalStateException("Screenings can be accepted only during DECISION state");
+        }
+
+        if (screening.getState() != ScreeningState.APPROVED || !screening.isFinalSubmitted()) {
+            throw new IllegalStateException("Only APPROVED and finally submitted screenings can be scheduled");
+        }
+
+        screening.setState(ScreeningState.SCHEDULED);
+    }
+
+    private Program findProgramOrThrow(Long programId) {
+        return programRepository.findById(programId)
+                .orElseThrow(() -> new IllegalArgumentException("Program not found: " + programId));
+    }
 
     private Screening findByIdOrThrow(Long id) {
-        return screeningRepository.findById(id)
+        return screeningRepository.findDetailedById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Screening not found: " + id));
     }
 
+    // ελέγχεται πριν το INSERT: στο import ένα πεδίο που δεν χωράει είναι αποτυχημένη γραμμή, όχι αποτυχία του flush
+    private void validateLengths(Screening screening) {
+        validateLength("Film title", screening.getFilmTitle());
+        validateLength("Film cast", screening.getFilmCast());
+        validateLength("Film genres", screening.getFilmGenres());
+        validateLength("Auditorium name", screening.getAuditoriumName());
+    }
+
+    private void validateLength(String field, String value) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(field + " must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+    }
+
     private void validateDuration(Screening screening) {
         if (screening.getStartTime() != null && screening.getEndTime() != null) {
             int durationMinutes = screening.getFilmDurationMinutes();
@@ -423,54 +803,4 @@ public class ScreeningServiceImpl implements ScreeningService {
 
         validateDuration(screening);
     }
-
-    private boolean matchesText(String field, String search) {
-        if (search == null || search.isBlank()) return true;
-        if (field == null) return false;
-
-        String lowerField = field.toLowerCase();
-        String[] words = search.toLowerCase().split("\\s+");
-        for (String w : words) {
-            if (!lowerField.contains(w)) return false;
-        }
-        return true;
-    }
-
-    private boolean matchesDateRange(Screening s, LocalDate from, LocalDate to) {
-        if (from == null && to == null) return true;
-        if (s.getStartTime() == null) return false;
-
-        LocalDate date = s.getStartTime().toLocalDate();
-        if (from != null && date.isBefore(from)) return false;
-        if (to != null && date.isAfter(to)) return false;
-        return true;
-    }
-
-    private boolean userCanSeeScreeningInSearch(Program program,
-                                                Screening screening,
-                                                User currentUser,
-                                                boolean isProgrammerOfThisProgram,
-                                                boolean isStaffInProgram) {
-
-        // PROGRAMMER
-        if (isProgrammerOfThisProgram) {
-            return true;
-        }
-
-        // STAFF
-        if (isStaffInProgram) {
-            boolean isAssigned = screening.getHandler() != null &&
-                    screening.getHandler().getId().equals(currentUser.getId());
-            if (isAssigned) return true;
-        }
-
-        // SUBMITTER
-        boolean isSubmitter = screening.getSubmitter() != null &&
-                screening.getSubmitter().getId().equals(currentUser.getId());
-        if (isSubmitter) return true;
-
-        // VISITOR/USER
-        return program.getState() == ProgramState.ANNOUNCED
-                && screening.getState() == ScreeningState.SCHEDULED;
-    }
 }
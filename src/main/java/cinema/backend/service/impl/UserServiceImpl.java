@@ -1,44 +1,67 @@
 package cinema.backend.service.impl;
 
-import cinema.backend.model.Role;
 import cinema.backend.model.User;
 import cinema.backend.repository.UserRepository;
+import cinema.backend.security.CustomUserDetails;
+import cinema.backend.security.VisitorUser;
 import cinema.backend.service.UserService;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
 
+    private static final String CURRENT_USER_ATTRIBUTE = UserServiceImpl.class.getName() + ".CURRENT_USER";
+
     private final UserRepository userRepository;
 
     public UserServiceImpl(UserRepository userRepository) {
         this.userRepository = userRepository;
     }
 
+    // SUPPORTS: ο visitor και ο χρήστης του principal δεν χρειάζονται transaction ούτε connection
     @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public User getOrCreateCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication() != null
-                ? SecurityContextHolder.getContext().getAuthentication().getName()
-                : null;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
+        if (authentication == null
+                || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return VisitorUser.INSTANCE;
+        }
 
+        // Basic/token login: ο User είναι ήδη φορτωμένος στο principal, δεν ξαναπάμε στη βάση
+        if (authentication.getPrincipal() instanceof CustomUserDetails details) {
+            return details.getUser();
+        }
+
+        String username = authentication.getName();
         if (username == null || "anonymousUser".equals(username)) {
-            return userRepository.findByUsername("visitor")
-                    .orElseGet(() -> {
-                        User u = new User();
-                        u.setUsername("visitor");
-                        u.setPassword("dummy");
-                        u.setRole(Role.VISITOR);
-                        u.setFullName("Visitor User");
-                        return userRepository.save(u);
-                    });
+            return VisitorUser.INSTANCE;
         }
 
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
+        // άλλοι τύποι principal: ένα lookup ανά request, κρατημένο στα request attributes
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Object cached = attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached instanceof User user && username.equals(user.getUsername())) {
+                return user;
+            }
+        }
+
+        User user = getUserByUsername(username);
+        if (attributes != null) {
+            attributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
     }
 
     @Override
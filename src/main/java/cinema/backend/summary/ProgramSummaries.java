@@ -0,0 +1,184 @@
+package cinema.backend.summary;
+
+import cinema.backend.mapper.ProgramMapper;
+import cinema.backend.model.Program;
+import cinema.backend.model.ProgramSummary;
+import cinema.backend.model.ScreeningState;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.ProgramSummaryRepository;
+import cinema.backend.repository.ScreeningRepository;
+import cinema.backend.repository.VersionSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Συντήρηση του ProgramSummary: κάθε workflow μέθοδος δηλώνει τι άλλαξε και ο μετρητής
+// διορθώνεται με delta, στο transaction της (MANDATORY). Μόνο οι αίθουσες ξαναδιαβάζονται,
+// και μόνο όταν ένα screening μπαίνει ή βγαίνει από το SCHEDULED.
+@Component
+public class ProgramSummaries {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgramSummaries.class);
+
+    private final ProgramSummaryRepository summaryRepository;
+    private final ProgramRepository programRepository;
+    private final ScreeningRepository screeningRepository;
+
+    public ProgramSummaries(ProgramSummaryRepository summaryRepository,
+                            ProgramRepository programRepository,
+                            ScreeningRepository screeningRepository) {
+        this.summaryRepository = summaryRepository;
+        this.programRepository = programRepository;
+        this.screeningRepository = screeningRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void programCreated(Program program) {
+        ProgramSummary summary = new ProgramSummary(program.getId());
+        summary.setProgrammersCount(program.getProgrammers() == null ? 0 : program.getProgrammers().size());
+        summary.setStaffCount(program.getStaff() == null ? 0 : program.getStaff().size());
+        summaryRepository.save(summary);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void programDeleted(Long programId) {
+        summaryRepository.findForUpdate(programId).ifPresent(summaryRepository::delete);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void programmerAdded(Long programId) {
+        update(programId, summary -> summary.setProgrammersCount(summary.getProgrammersCount() + 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void staffAdded(Long programId) {
+        update(programId, summary -> summary.setStaffCount(summary.getStaffCount() + 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void screeningAdded(Long programId, ScreeningState state) {
+        update(programId, summary -> summary.add(state, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void screeningRemoved(Long programId, ScreeningState state) {
+        update(programId, summary -> {
+            summary.add(state, -1);
+            if (state == ScreeningState.SCHEDULED) {
+                summary.setAuditoriumList(auditoriums(programId));
+            }
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void screeningMoved(Long programId, ScreeningState from, ScreeningState to) {
+        if (from == to) {
+            screeningChanged(programId);
+            return;
+        }
+
+        update(programId, summary -> {
+            summary.add(from, -1);
+            summary.add(to, 1);
+            if (from == ScreeningState.SCHEDULED || to == ScreeningState.SCHEDULED) {
+                summary.setAuditoriumList(auditoriums(programId));
+            }
+        });
+    }
+
+    // αλλαγή σε screening που δεν μετακινεί μετρητές (πεδία, handler, final submit): μόνο το version
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void screeningChanged(Long programId) {
+        update(programId, summary -> {
+        });
+    }
+
+    // μετά από bulk UPDATE: οι μετρητές ξαναμετρώνται με ένα aggregate query, γιατί το UPDATE
+    // δίνει μόνο το σύνολο των γραμμών και όχι από ποια state έφυγε η καθεμία
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void screeningsChanged(Long programId) {
+        update(programId, summary -> {
+            ProgramSummary counted = compute(programId);
+            for (ScreeningState state : ScreeningState.values()) {
+                summary.add(state, counted.count(state) - summary.count(state));
+            }
+            summary.setAuditoriumList(counted.getAuditoriumList());
+        });
+    }
+
+    // για αναγνώσεις: αν η γραμμή λείπει ακόμη (πριν το backfill), υπολογίζεται χωρίς να αποθηκευτεί
+    @Transactional(readOnly = true)
+    public ProgramSummary forProgram(Long programId) {
+        return summaryRepository.findById(programId).orElseGet(() -> compute(programId));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, ProgramSummary> forPrograms(Collection<Long> programIds) {
+        Map<Long, ProgramSummary> out = new HashMap<>();
+        for (ProgramSummary summary : summaryRepository.findAllById(programIds)) {
+            out.put(summary.getProgramId(), summary);
+        }
+        for (Long programId : programIds) {
+            out.computeIfAbsent(programId, this::compute);
+        }
+        return out;
+    }
+
+    @Transactional(readOnly = true)
+    public VersionSummary versions() {
+        return summaryRepository.summarizeVersions();
+    }
+
+    // programs από πριν υπάρξει το read model (ή φορτωμένα απευθείας στη βάση)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        List<Long> missing = summaryRepository.findProgramIdsWithoutSummary();
+        for (Long programId : missing) {
+            summaryRepository.save(compute(programId));
+        }
+        if (!missing.isEmpty()) {
+            log.info("Program summaries backfilled for {} programs", missing.size());
+        }
+    }
+
+    // Καλείται μετά την αλλαγή: αν η γραμμή λείπει, τα queries του compute κάνουν πρώτα flush
+    // και την περιλαμβάνουν ήδη, οπότε το delta δεν εφαρμόζεται ξανά.
+    private void update(Long programId, Consumer<ProgramSummary> change) {
+        Optional<ProgramSummary> summary = summaryRepository.findForUpdate(programId);
+        if (summary.isPresent()) {
+            change.accept(summary.get());
+        } else {
+            summaryRepository.save(compute(programId));
+        }
+    }
+
+    private ProgramSummary compute(Long programId) {
+        ProgramSummary summary = new ProgramSummary(programId);
+        for (ScreeningRepository.StateCount row : screeningRepository.countByState(programId)) {
+            summary.add(row.getState(), (int) row.getCount());
+        }
+        summary.setProgrammersCount(programRepository.findProgrammerIds(programId).size());
+        summary.setStaffCount(programRepository.findStaffIds(programId).size());
+        summary.setAuditoriumList(auditoriums(programId));
+        return summary;
+    }
+
+    private List<String> auditoriums(Long programId) {
+        List<String> names = screeningRepository.findScheduledAuditoriums(List.of(programId)).stream()
+                .map(ScreeningRepository.ProgramAuditorium::getAuditoriumName)
+                .toList();
+        return ProgramMapper.sortedAuditoriums(names);
+    }
+}
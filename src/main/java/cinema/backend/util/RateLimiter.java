@@ -3,35 +3,113 @@ package cinema.backend.util;
 import cinema.backend.exception.TooManyRequestsException;
 
 import java.time.Duration;
-import java.time.Instant;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-
+// Token bucket σε μορφή GCRA: ανά key κρατάμε ένα μόνο long (theoretical arrival time, σε nanoTime).
+// maxRequests μέσα σε window = burst maxRequests και μετά 1 request ανά window / maxRequests.
 public class RateLimiter {
 
-    private static final Map<String, Deque<Instant>> REQUESTS = new ConcurrentHashMap<>();
+    static final int MAX_KEYS = 100_000;
+    // όταν ο πίνακας είναι γεμάτος και δεν υπάρχουν idle keys, τόσα φεύγουν με μία σάρωση
+    static final int EVICT_BATCH = MAX_KEYS / 100;
+    private static final long EVICTION_PERIOD_SECONDS = 30;
+
+    private static final Map<String, AtomicLong> STATES = new ConcurrentHashMap<>();
+
+    // μέγιστο window που έχει ζητηθεί: ένα key που είναι idle για τόσο έχει ξαναγεμίσει και μπορεί να σβηστεί
+    private static final AtomicLong MAX_WINDOW_NANOS = new AtomicLong();
+
+    static {
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rate-limiter-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        evictor.scheduleAtFixedRate(RateLimiter::evictIdle,
+                EVICTION_PERIOD_SECONDS, EVICTION_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
 
 
     public static void checkRate(String key, int maxRequests, Duration window) {
-        Instant now = Instant.now();
-        Deque<Instant> deque = REQUESTS.computeIfAbsent(key, k -> new ArrayDeque<>());
+        if (!acquire(key, maxRequests, window).allowed()) {
+            throw new TooManyRequestsException("Too many requests, please slow down.");
+        }
+    }
 
-        synchronized (deque) {
+    public static Decision acquire(String key, int maxRequests, Duration window) {
+        long windowNanos = window.toNanos();
+        long interval = windowNanos / maxRequests;
+        long tolerance = windowNanos - interval;
+        MAX_WINDOW_NANOS.accumulateAndGet(windowNanos, Math::max);
 
-            Instant cutoff = now.minus(window);
-            while (!deque.isEmpty() && deque.peekFirst().isBefore(cutoff)) {
-                deque.removeFirst();
-            }
+        AtomicLong state = stateFor(key);
+
+        while (true) {
+            long now = System.nanoTime();
+            long tat = state.get();
+            long start = (tat - now > 0) ? tat : now;
 
-            if (deque.size() >= maxRequests) {
-                throw new TooManyRequestsException("Too many requests, please slow down.");
+            if (start - now > tolerance) {
+                return new Decision(false, 0, start - now - tolerance);
+            }
+            long next = start + interval;
+            if (state.compareAndSet(tat, next)) {
+                long remaining = (next - now > tolerance) ? 0 : (tolerance - (next - now)) / interval + 1;
+                return new Decision(true, remaining, 0);
             }
+        }
+    }
+
+    private static AtomicLong stateFor(String key) {
+        AtomicLong state = STATES.get(key);
+        if (state != null) {
+            return state;
+        }
 
-            deque.addLast(now);
+        if (STATES.size() >= MAX_KEYS) {
+            evictIdle();
+            // ακόμα γεμάτο (π.χ. πολλά διαφορετικά keys μέσα σε ένα window): δεν κλείνουμε την πόρτα στα νέα keys,
+            // αλλά διώχνουμε όσα έχουν το παλαιότερο TAT, δηλαδή όσα έχουν ξαναγεμίσει περισσότερο.
+            // Ένα key που είναι throttled έχει TAT στο μέλλον και μένει.
+            if (STATES.size() >= MAX_KEYS) {
+                evictOldest(EVICT_BATCH);
+            }
         }
+        return STATES.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+    }
+
+    static synchronized void evictOldest(int count) {
+        if (STATES.size() < MAX_KEYS) return;
+
+        long[] tats = STATES.values().stream().mapToLong(AtomicLong::get).toArray();
+        if (tats.length == 0) return;
+        Arrays.sort(tats);
+        long threshold = tats[Math.min(count, tats.length) - 1];
+        STATES.values().removeIf(state -> state.get() <= threshold);
+    }
+
+    static void evictIdle() {
+        long now = System.nanoTime();
+        long idleAfter = MAX_WINDOW_NANOS.get();
+        STATES.values().removeIf(state -> now - state.get() > idleAfter);
+    }
+
+    static int trackedKeys() {
+        return STATES.size();
+    }
+
+    static void reset() {
+        STATES.clear();
+        MAX_WINDOW_NANOS.set(0);
+    }
+
+    public record Decision(boolean allowed, long remaining, long retryAfterNanos) {
     }
 
     private RateLimiter() {
@@ -0,0 +1,132 @@
+package cinema.backend;
+
+import cinema.backend.model.Program;
+import cinema.backend.model.ProgramState;
+import cinema.backend.model.ProgramSummary;
+import cinema.backend.model.Role;
+import cinema.backend.model.Screening;
+import cinema.backend.model.ScreeningState;
+import cinema.backend.model.User;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.ProgramSummaryRepository;
+import cinema.backend.repository.ScreeningRepository;
+import cinema.backend.repository.UserRepository;
+import cinema.backend.summary.ProgramSummaries;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProgramDecisionTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private ProgramSummaryRepository summaryRepository;
+
+    @Autowired
+    private ProgramSummaries programSummaries;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void enteringDecisionRejectsEveryScreeningNotFinallySubmitted() throws Exception {
+        User programmer = programmer("decision-programmer");
+        Program program = transactionTemplate.execute(status -> {
+            Program p = new Program();
+            p.setName("Decision " + System.nanoTime());
+            p.setStartDate(LocalDate.now());
+            p.setEndDate(LocalDate.now().plusDays(2));
+            p.setState(ProgramState.FINAL_PUBLICATION);
+            p.getProgrammers().add(userRepository.getReferenceById(programmer.getId()));
+            return programRepository.save(p);
+        });
+
+        Screening submitted = screening(program, ScreeningState.SUBMITTED, false);
+        Screening reviewed = screening(program, ScreeningState.REVIEWED, false);
+        Screening approved = screening(program, ScreeningState.APPROVED, false);
+        Screening finalSubmitted = screening(program, ScreeningState.APPROVED, true);
+        Screening scheduled = screening(program, ScreeningState.SCHEDULED, false);
+        Screening rejected = screening(program, ScreeningState.REJECTED, false);
+        programSummaries.backfill();
+        ProgramSummary before = summaryRepository.findById(program.getId()).orElseThrow();
+        assertEquals(2, before.getApprovedCount());
+        assertEquals(1, before.getRejectedCount());
+
+        mvc.perform(post("/api/programs/" + program.getId() + "/state")
+                        .with(httpBasic("decision-programmer", "decision-programmer"))
+                        .param("newState", "DECISION"))
+                .andExpect(status().isOk());
+
+        for (Screening unfinished : new Screening[]{submitted, reviewed, approved}) {
+            Screening after = screeningRepository.findById(unfinished.getId()).orElseThrow();
+            assertEquals(ScreeningState.REJECTED, after.getState());
+            assertNotNull(after.getRejectionReason());
+            assertEquals(unfinished.getVersion() + 1, after.getVersion());
+        }
+        for (Screening untouched : new Screening[]{finalSubmitted, scheduled, rejected}) {
+            Screening after = screeningRepository.findById(untouched.getId()).orElseThrow();
+            assertEquals(untouched.getState(), after.getState());
+            assertEquals(untouched.getVersion(), after.getVersion());
+            assertNull(after.getRejectionReason());
+        }
+
+        ProgramSummary summary = summaryRepository.findById(program.getId()).orElseThrow();
+        assertEquals(0, summary.getSubmittedCount());
+        assertEquals(0, summary.getReviewedCount());
+        assertEquals(1, summary.getApprovedCount());
+        assertEquals(1, summary.getScheduledCount());
+        assertEquals(4, summary.getRejectedCount());
+        assertTrue(summary.getVersion() > before.getVersion());
+    }
+
+    private Screening screening(Program program, ScreeningState state, boolean finalSubmitted) {
+        Screening screening = new Screening();
+        screening.setProgram(program);
+        screening.setFilmTitle(state + (finalSubmitted ? " final" : ""));
+        screening.setFilmDurationMinutes(90);
+        screening.setState(state);
+        screening.setFinalSubmitted(finalSubmitted);
+        return screeningRepository.save(screening);
+    }
+
+    private User programmer(String username) {
+        return userRepository.findByUsername(username).orElseGet(() -> {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(passwordEncoder.encode(username));
+            user.setFullName(username);
+            user.setRole(Role.PROGRAMMER);
+            return userRepository.save(user);
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package cinema.backend;
+
+import cinema.backend.model.Role;
+import cinema.backend.model.User;
+import cinema.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProgramListETagTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void programListETagFollowsScreeningChanges() throws Exception {
+        programmer("etag-programmer");
+        String programBody = mvc.perform(post("/api/programs")
+                        .with(httpBasic("etag-programmer", "etag-programmer"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "ETag %d", "startDate": "%s", "endDate": "%s"}
+                                """.formatted(System.nanoTime(), LocalDate.now(), LocalDate.now().plusDays(2))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long programId = om.readTree(programBody).get("id").asLong();
+
+        mvc.perform(post("/api/programs/" + programId + "/state")
+                        .with(httpBasic("etag-programmer", "etag-programmer"))
+                        .param("newState", "SUBMISSION"))
+                .andExpect(status().isOk());
+
+        String initial = listETag();
+        mvc.perform(get("/api/programs")
+                        .with(httpBasic("etag-programmer", "etag-programmer"))
+                        .header("If-None-Match", initial))
+                .andExpect(status().isNotModified());
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        String screening = """
+                {"filmTitle": "%s", "filmDurationMinutes": 90, "auditoriumName": "Hall 1",
+                 "startTime": "%s", "endTime": "%s"}
+                """;
+        String screeningBody = mvc.perform(post("/api/programs/" + programId + "/screenings")
+                        .with(httpBasic("submitter", "submitter"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(screening.formatted("Movie A", start, start.plusMinutes(100))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long screeningId = om.readTree(screeningBody).get("id").asLong();
+
+        String created = listETag();
+        assertNotEquals(initial, created);
+
+        // αλλαγή που δεν μετακινεί κανέναν μετρητή: το ETag αλλάζει και πάλι
+        mvc.perform(put("/api/programs/" + programId + "/screenings/" + screeningId)
+                        .with(httpBasic("submitter", "submitter"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(screening.formatted("Movie B", start, start.plusMinutes(100))))
+                .andExpect(status().isOk());
+
+        String updated = listETag();
+        assertNotEquals(created, updated);
+        mvc.perform(get("/api/programs")
+                        .with(httpBasic("etag-programmer", "etag-programmer"))
+                        .header("If-None-Match", created))
+                .andExpect(status().isOk());
+    }
+
+    private String listETag() throws Exception {
+        String etag = mvc.perform(get("/api/programs").with(httpBasic("etag-programmer", "etag-programmer")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private void programmer(String username) {
+        if (userRepository.findByUsername(username).isPresent()) return;
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(passwordEncoder.encode(username));
+        user.setFullName(username);
+        user.setRole(Role.PROGRAMMER);
+        userRepository.save(user);
+    }
+}
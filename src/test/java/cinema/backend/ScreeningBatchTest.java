@@ -0,0 +1,205 @@
+package cinema.backend;
+
+import cinema.backend.model.Program;
+import cinema.backend.model.ProgramState;
+import cinema.backend.model.ProgramSummary;
+import cinema.backend.model.Role;
+import cinema.backend.model.Screening;
+import cinema.backend.model.ScreeningState;
+import cinema.backend.model.User;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.ProgramSummaryRepository;
+import cinema.backend.repository.ScreeningRepository;
+import cinema.backend.repository.UserRepository;
+import cinema.backend.summary.ProgramSummaries;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.StringJoiner;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ScreeningBatchTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private ProgramSummaryRepository summaryRepository;
+
+    @Autowired
+    private ProgramSummaries programSummaries;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Program program;
+
+    @BeforeEach
+    void setUp() {
+        User programmer = user("batch-programmer", Role.PROGRAMMER);
+        user("batch-submitter", Role.SUBMITTER);
+        program = program(ProgramState.DECISION, programmer);
+    }
+
+    @Test
+    void mixedBatchReportsEachItemAndKeepsTheSuccessfulOnes() throws Exception {
+        Screening finalSubmitted = screening(program, ScreeningState.APPROVED, true);
+        Screening notFinal = screening(program, ScreeningState.APPROVED, false);
+        Screening reviewed = screening(program, ScreeningState.REVIEWED, false);
+        Screening submitted = screening(program, ScreeningState.SUBMITTED, false);
+        Screening elsewhere = screening(program(ProgramState.DECISION, null), ScreeningState.REVIEWED, false);
+        programSummaries.backfill();
+
+        mvc.perform(post("/api/programs/" + program.getId() + "/screenings/batch")
+                        .with(httpBasic("batch-programmer", "batch-programmer"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"screeningId": %d, "action": "ACCEPT"},
+                                  {"screeningId": %d, "action": "ACCEPT"},
+                                  {"screeningId": %d, "action": "REJECT", "reason": "Off topic"},
+                                  {"screeningId": %d, "action": "REJECT"},
+                                  {"screeningId": %d, "action": "ASSIGN_HANDLER", "handlerUsername": "staff1"},
+                                  {"screeningId": %d, "action": "REJECT", "reason": "Not ours"}
+                                ]
+                                """.formatted(finalSubmitted.getId(), notFinal.getId(), reviewed.getId(),
+                                submitted.getId(), submitted.getId(), elsewhere.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(6)))
+                .andExpect(jsonPath("$[0].ok").value(true))
+                .andExpect(jsonPath("$[0].state").value("SCHEDULED"))
+                .andExpect(jsonPath("$[1].ok").value(false))
+                .andExpect(jsonPath("$[1].state").value("APPROVED"))
+                .andExpect(jsonPath("$[1].error").value(containsString("finally submitted")))
+                .andExpect(jsonPath("$[2].ok").value(true))
+                .andExpect(jsonPath("$[2].state").value("REJECTED"))
+                .andExpect(jsonPath("$[3].ok").value(false))
+                .andExpect(jsonPath("$[3].error").value(containsString("reason")))
+                .andExpect(jsonPath("$[4].ok").value(false))
+                .andExpect(jsonPath("$[4].error").value(containsString("ASSIGNMENT")))
+                .andExpect(jsonPath("$[5].ok").value(false))
+                .andExpect(jsonPath("$[5].error").value(containsString("not found in this program")));
+
+        // τα αποτυχημένα items δεν ακυρώνουν τα επιτυχημένα
+        assertEquals(ScreeningState.SCHEDULED, stateOf(finalSubmitted));
+        assertEquals(ScreeningState.REJECTED, stateOf(reviewed));
+        assertUnchanged(notFinal);
+        assertUnchanged(submitted);
+        assertUnchanged(elsewhere);
+
+        ProgramSummary summary = summaryRepository.findById(program.getId()).orElseThrow();
+        assertEquals(1, summary.getScheduledCount());
+        assertEquals(1, summary.getApprovedCount());
+        assertEquals(0, summary.getReviewedCount());
+        assertEquals(1, summary.getRejectedCount());
+    }
+
+    @Test
+    void onlyTheProgrammerOfTheProgramCanRunABatch() throws Exception {
+        Screening finalSubmitted = screening(program, ScreeningState.APPROVED, true);
+
+        mvc.perform(post("/api/programs/" + program.getId() + "/screenings/batch")
+                        .with(httpBasic("batch-submitter", "batch-submitter"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"screeningId\": " + finalSubmitted.getId() + ", \"action\": \"ACCEPT\"}]"))
+                .andExpect(status().isConflict());
+
+        assertUnchanged(finalSubmitted);
+    }
+
+    @Test
+    void batchSizeIsCapped() throws Exception {
+        Screening finalSubmitted = screening(program, ScreeningState.APPROVED, true);
+        StringJoiner items = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < 501; i++) {
+            items.add("{\"screeningId\": " + finalSubmitted.getId() + ", \"action\": \"ACCEPT\"}");
+        }
+
+        mvc.perform(post("/api/programs/" + program.getId() + "/screenings/batch")
+                        .with(httpBasic("batch-programmer", "batch-programmer"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(items.toString()))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/programs/" + program.getId() + "/screenings/batch")
+                        .with(httpBasic("batch-programmer", "batch-programmer"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        assertUnchanged(finalSubmitted);
+    }
+
+    private ScreeningState stateOf(Screening screening) {
+        return screeningRepository.findById(screening.getId()).orElseThrow().getState();
+    }
+
+    private void assertUnchanged(Screening screening) {
+        Screening current = screeningRepository.findById(screening.getId()).orElseThrow();
+        assertEquals(screening.getState(), current.getState());
+        assertEquals(screening.getVersion(), current.getVersion());
+    }
+
+    private Program program(ProgramState state, User programmer) {
+        return transactionTemplate.execute(status -> {
+            Program p = new Program();
+            p.setName("Batch " + System.nanoTime());
+            p.setStartDate(LocalDate.now());
+            p.setEndDate(LocalDate.now().plusDays(2));
+            p.setState(state);
+            if (programmer != null) {
+                p.getProgrammers().add(userRepository.getReferenceById(programmer.getId()));
+            }
+            return programRepository.save(p);
+        });
+    }
+
+    private Screening screening(Program program, ScreeningState state, boolean finalSubmitted) {
+        Screening screening = new Screening();
+        screening.setProgram(program);
+        screening.setFilmTitle(state + (finalSubmitted ? " final" : ""));
+        screening.setFilmDurationMinutes(90);
+        screening.setState(state);
+        screening.setFinalSubmitted(finalSubmitted);
+        return screeningRepository.save(screening);
+    }
+
+    private User user(String username, Role role) {
+        return userRepository.findByUsername(username).orElseGet(() -> {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(passwordEncoder.encode(username));
+            user.setFullName(username);
+            user.setRole(role);
+            return userRepository.save(user);
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package cinema.backend;
+
+import cinema.backend.exception.ForbiddenException;
+import cinema.backend.model.Program;
+import cinema.backend.model.ProgramState;
+import cinema.backend.model.Role;
+import cinema.backend.model.Screening;
+import cinema.backend.model.ScreeningState;
+import cinema.backend.model.User;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.ScreeningRepository;
+import cinema.backend.repository.UserRepository;
+import cinema.backend.service.ScreeningService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ScreeningExportTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ScreeningService screeningService;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Program program;
+
+    @BeforeEach
+    void setUp() {
+        User programmer = user("export-programmer", Role.PROGRAMMER);
+        user("export-submitter", Role.SUBMITTER);
+        program = transactionTemplate.execute(status -> {
+            Program p = new Program();
+            p.setName("Export " + System.nanoTime());
+            p.setStartDate(LocalDate.now());
+            p.setEndDate(LocalDate.now().plusDays(2));
+            p.setState(ProgramState.REVIEW);
+            p.getProgrammers().add(userRepository.getReferenceById(programmer.getId()));
+            return programRepository.save(p);
+        });
+
+        Screening screening = new Screening();
+        screening.setProgram(program);
+        screening.setFilmTitle("Exported");
+        screening.setFilmDurationMinutes(90);
+        screening.setState(ScreeningState.SUBMITTED);
+        screeningRepository.save(screening);
+    }
+
+    @Test
+    void programmerExportsEveryScreening() throws Exception {
+        MvcResult result = mvc.perform(get("/api/programs/" + program.getId() + "/screenings/export")
+                        .with(httpBasic("export-programmer", "export-programmer")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].filmTitle").value("Exported"));
+    }
+
+    @Test
+    void othersAreRejectedBeforeTheBodyStarts() throws Exception {
+        mvc.perform(get("/api/programs/" + program.getId() + "/screenings/export")
+                        .with(httpBasic("export-submitter", "export-submitter")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void serviceChecksAccessItselfToo() {
+        // χωρίς authentication: visitor
+        List<Screening> exported = new ArrayList<>();
+        assertThrows(ForbiddenException.class,
+                () -> screeningService.exportScreenings(program.getId(), exported::add));
+        assertTrue(exported.isEmpty());
+    }
+
+    private User user(String username, Role role) {
+        return userRepository.findByUsername(username).orElseGet(() -> {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(passwordEncoder.encode(username));
+            user.setFullName(username);
+            user.setRole(role);
+            return userRepository.save(user);
+        });
+    }
+}
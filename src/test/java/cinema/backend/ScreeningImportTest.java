@@ -0,0 +1,165 @@
+package cinema.backend;
+
+import cinema.backend.model.Program;
+import cinema.backend.model.ProgramState;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.ProgramSummaryRepository;
+import cinema.backend.repository.ScreeningRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ScreeningImportTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0)
+            .withSecond(0).withNano(0);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private ProgramSummaryRepository summaryRepository;
+
+    private Long programId;
+
+    @BeforeEach
+    void setUp() {
+        Program program = new Program();
+        program.setName("Import " + System.nanoTime());
+        program.setStartDate(LocalDate.now());
+        program.setEndDate(LocalDate.now().plusDays(2));
+        program.setState(ProgramState.SUBMISSION);
+        programId = programRepository.save(program).getId();
+    }
+
+    @Test
+    void invalidElementsFailTheirRowAndTheRestAreImported() throws Exception {
+        String body = "[" + row("First", 90) + ", " +
+                "{\"filmTitle\": \"Bad number\", \"filmDurationMinutes\": \"ninety\"}, " +
+                "null, " +
+                "5, " +
+                row("Too long", 200) + ", " +
+                row("Last", 90) + "]";
+
+        importRows(MediaType.APPLICATION_JSON, body)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(6)))
+                .andExpect(jsonPath("$[0].row").value(1))
+                .andExpect(jsonPath("$[0].ok").value(true))
+                .andExpect(jsonPath("$[0].id").value(notNullValue()))
+                .andExpect(jsonPath("$[1].ok").value(false))
+                .andExpect(jsonPath("$[1].error").value(containsString("Invalid screening")))
+                .andExpect(jsonPath("$[2].row").value(3))
+                .andExpect(jsonPath("$[2].ok").value(false))
+                .andExpect(jsonPath("$[2].error").value(containsString("Invalid screening")))
+                .andExpect(jsonPath("$[3].ok").value(false))
+                .andExpect(jsonPath("$[4].ok").value(false))
+                .andExpect(jsonPath("$[4].id").value(nullValue()))
+                .andExpect(jsonPath("$[4].error").value(containsString("duration")))
+                .andExpect(jsonPath("$[5].row").value(6))
+                .andExpect(jsonPath("$[5].ok").value(true));
+
+        assertEquals(2, summaryRepository.findById(programId).orElseThrow().getCreatedCount());
+    }
+
+    @Test
+    void valuesTooLongForTheirColumnFailOnlyTheirRow() throws Exception {
+        String body = "[" + row("Fits", 90) + ", " + row("x".repeat(300), 90) + ", " +
+                row("Also fits", 90).replace("Hall 1", "h".repeat(256)) + "]";
+
+        importRows(MediaType.APPLICATION_JSON, body)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].ok").value(true))
+                .andExpect(jsonPath("$[1].ok").value(false))
+                .andExpect(jsonPath("$[1].error").value("Film title must be at most 255 characters"))
+                .andExpect(jsonPath("$[2].ok").value(false))
+                .andExpect(jsonPath("$[2].error").value(containsString("Auditorium name")));
+
+        assertEquals(1, summaryRepository.findById(programId).orElseThrow().getCreatedCount());
+    }
+
+    @Test
+    void ndjsonRowsFailIndependently() throws Exception {
+        String body = row("One", 90) + "\n" +
+                "{\"filmTitle\": [\"not\", \"text\"]}\n" +
+                "null\n" +
+                row("Two", 90) + "\n";
+
+        importRows(MediaType.APPLICATION_NDJSON, body)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].ok").value(true))
+                .andExpect(jsonPath("$[1].ok").value(false))
+                .andExpect(jsonPath("$[2].ok").value(false))
+                .andExpect(jsonPath("$[3].ok").value(true));
+    }
+
+    @Test
+    void malformedJsonRejectsTheWholeImport() throws Exception {
+        importRows(MediaType.APPLICATION_JSON, "[" + row("Kept?", 90) + ", {\"filmTitle\": ]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Malformed screening JSON")));
+
+        assertEquals(0, screeningRepository.countByState(programId).size());
+    }
+
+    @Test
+    void importsMoreRowsThanOneInsertBatch() throws Exception {
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < 120; i++) {
+            body.add(i == 70 ? "null" : row("Film " + i, 90));
+        }
+
+        importRows(MediaType.APPLICATION_JSON, body.toString())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(120)))
+                .andExpect(jsonPath("$[49].ok").value(true))
+                .andExpect(jsonPath("$[50].ok").value(true))
+                .andExpect(jsonPath("$[70].row").value(71))
+                .andExpect(jsonPath("$[70].ok").value(false))
+                .andExpect(jsonPath("$[119].row").value(120))
+                .andExpect(jsonPath("$[119].ok").value(true));
+
+        assertEquals(119, summaryRepository.findById(programId).orElseThrow().getCreatedCount());
+    }
+
+    private ResultActions importRows(MediaType type, String body) throws Exception {
+        return mvc.perform(post("/api/programs/" + programId + "/screenings/import")
+                .with(httpBasic("submitter", "submitter"))
+                .contentType(type)
+                .content(body));
+    }
+
+    private static String row(String title, int minutes) {
+        return "{\"filmTitle\": \"%s\", \"filmDurationMinutes\": %d, \"auditoriumName\": \"Hall 1\", \"startTime\": \"%s\", \"endTime\": \"%s\"}"
+                .formatted(title, minutes, START, START.plusMinutes(100));
+    }
+}
@@ -0,0 +1,128 @@
+package cinema.backend;
+
+import cinema.backend.model.Role;
+import cinema.backend.model.User;
+import cinema.backend.security.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenLoginTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Test
+    void verifyAcceptsOnlyUnexpiredTokensSignedWithTheSameSecret() {
+        TokenService service = new TokenService("secret", Duration.ofHours(1));
+        String token = service.issue(user()).token();
+
+        User verified = service.verify(token);
+        assertNotNull(verified);
+        assertEquals(7L, verified.getId());
+        assertEquals(Role.PROGRAMMER, verified.getRole());
+        assertEquals("alice", verified.getUsername());
+
+        assertNull(new TokenService("other secret", Duration.ofHours(1)).verify(token));
+        assertNull(service.verify("x" + token));
+        assertNull(service.verify(token.substring(0, token.length() - 2)));
+        assertNull(service.verify("no-signature"));
+
+        String expired = new TokenService("secret", Duration.ofSeconds(-1)).issue(user()).token();
+        assertNull(service.verify(expired));
+    }
+
+    @Test
+    void loginIssuesABearerTokenForProtectedRoutes() throws Exception {
+        String body = mvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"user1\", \"password\": \"user1\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("user1"))
+                .andReturn().getResponse().getContentAsString();
+        String token = om.readTree(body).get("token").asText();
+
+        mvc.perform(get("/api/halls").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"user1\", \"password\": \"wrong\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void invalidTokenIsTreatedAsAnonymous() throws Exception {
+        String expired = new TokenService("secret", Duration.ofSeconds(-1)).issue(user()).token();
+
+        mvc.perform(get("/api/programs").header("Authorization", "Bearer " + expired))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/programs").header("Authorization", "Bearer tampered.token"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/halls").header("Authorization", "Bearer " + expired))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void loginIsRateLimitedPerClientAddress() throws Exception {
+        // χωρίς load balancer (default) το X-Forwarded-For είναι του client και δεν αλλάζει το key
+        for (int i = 0; i < 10; i++) {
+            mvc.perform(post("/api/auth/login")
+                            .with(remoteAddr("203.0.113.7"))
+                            .header("X-Forwarded-For", "198.51.100." + i)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"username\": \"user1\", \"password\": \"guess" + i + "\"}"))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mvc.perform(post("/api/auth/login")
+                        .with(remoteAddr("203.0.113.7"))
+                        .header("X-Forwarded-For", "198.51.100.99")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"user1\", \"password\": \"user1\"}"))
+                .andExpect(status().isTooManyRequests());
+
+        // άλλη διεύθυνση, άλλος μετρητής
+        mvc.perform(post("/api/auth/login")
+                        .with(remoteAddr("203.0.113.8"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"user1\", \"password\": \"user1\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+        user.setRole(Role.PROGRAMMER);
+        return user;
+    }
+}
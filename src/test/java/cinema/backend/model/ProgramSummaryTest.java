@@ -0,0 +1,36 @@
+package cinema.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProgramSummaryTest {
+
+    @Test
+    void movesKeepTheTotalAndCountPerState() {
+        ProgramSummary summary = new ProgramSummary(1L);
+        summary.add(ScreeningState.CREATED, 3);
+        summary.add(ScreeningState.CREATED, -1);
+        summary.add(ScreeningState.SUBMITTED, 1);
+
+        assertEquals(3, summary.getScreeningsCount());
+        assertEquals(2, summary.count(ScreeningState.CREATED));
+        assertEquals(1, summary.getScreeningCounts().get(ScreeningState.SUBMITTED));
+        assertEquals(0, summary.getScreeningCounts().get(ScreeningState.SCHEDULED));
+    }
+
+    @Test
+    void auditoriumsRoundTripThroughTheColumn() {
+        ProgramSummary summary = new ProgramSummary(1L);
+        assertTrue(summary.getAuditoriumList().isEmpty());
+
+        summary.setAuditoriumList(List.of("Hall 1", "Αίθουσα 2"));
+        assertEquals(List.of("Hall 1", "Αίθουσα 2"), summary.getAuditoriumList());
+
+        summary.setAuditoriumList(List.of());
+        assertTrue(summary.getAuditoriumList().isEmpty());
+    }
+}
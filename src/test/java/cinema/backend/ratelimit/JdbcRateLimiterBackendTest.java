@@ -0,0 +1,113 @@
+package cinema.backend.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Δύο "nodes" με κοινή (δεύτερη) H2 βάση: το όριο ισχύει για το σύνολο, όχι ανά node.
+class JdbcRateLimiterBackendTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(10);
+
+    private JdbcTemplate jdbc;
+    private JdbcRateLimiterBackend nodeA;
+    private JdbcRateLimiterBackend nodeB;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource shared = new DriverManagerDataSource(
+                "jdbc:h2:mem:rate-limit-test-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(shared);
+        // μεγάλο sync interval: τα syncs γίνονται ρητά από το test
+        nodeA = new JdbcRateLimiterBackend(shared, Duration.ofHours(1), 1000);
+        nodeB = new JdbcRateLimiterBackend(shared, Duration.ofHours(1), 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        nodeA.destroy();
+        nodeB.destroy();
+    }
+
+    @Test
+    void quotaIsSharedAcrossNodes() {
+        for (int i = 0; i < 6; i++) {
+            assertTrue(nodeA.acquire("search:1.2.3.4", 10, WINDOW).allowed());
+        }
+        nodeA.sync();
+        nodeB.sync();
+
+        int allowedOnB = 0;
+        while (nodeB.acquire("search:1.2.3.4", 10, WINDOW).allowed()) {
+            allowedOnB++;
+        }
+        assertEquals(4, allowedOnB);
+
+        nodeB.sync();
+        nodeA.sync();
+        assertFalse(nodeA.acquire("search:1.2.3.4", 10, WINDOW).allowed());
+
+        // άλλο key δεν επηρεάζεται
+        assertTrue(nodeA.acquire("search:5.6.7.8", 10, WINDOW).allowed());
+    }
+
+    @Test
+    void reportsRemainingAndRetryAfter() {
+        assertEquals(2, nodeA.acquire("submit:u", 3, WINDOW).remaining());
+        assertEquals(1, nodeA.acquire("submit:u", 3, WINDOW).remaining());
+        assertEquals(0, nodeA.acquire("submit:u", 3, WINDOW).remaining());
+
+        var rejected = nodeA.acquire("submit:u", 3, WINDOW);
+        assertFalse(rejected.allowed());
+        assertTrue(rejected.retryAfterNanos() > 0 && rejected.retryAfterNanos() <= WINDOW.toNanos());
+    }
+
+    @Test
+    void deltasAreWrittenOnce() {
+        for (int i = 0; i < 3; i++) {
+            nodeA.acquire("search:9.9.9.9", 10, WINDOW);
+        }
+        nodeA.sync();
+        nodeA.sync();
+        nodeA.sync();
+        assertEquals(3L, hits("search:9.9.9.9"));
+
+        // η γραμμή σβήνεται από άλλο node: το delta δεν ξαναστέλνεται, αλλά μετράει ακόμη τοπικά
+        jdbc.update("DELETE FROM " + JdbcRateLimiterBackend.TABLE);
+        nodeA.sync();
+        assertNull(hits("search:9.9.9.9"));
+        assertEquals(6, nodeA.acquire("search:9.9.9.9", 10, WINDOW).remaining());
+
+        nodeA.sync();
+        assertEquals(1L, hits("search:9.9.9.9"));
+    }
+
+    private Long hits(String key) {
+        return jdbc.queryForList("SELECT hits FROM " + JdbcRateLimiterBackend.TABLE + " WHERE bucket_key = ?",
+                Long.class, key).stream().findFirst().orElse(null);
+    }
+
+    @Test
+    void fullCounterTableFallsBackToLocalLimits() throws Exception {
+        JdbcRateLimiterBackend small = new JdbcRateLimiterBackend(new DriverManagerDataSource(
+                "jdbc:h2:mem:rate-limit-small-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", ""),
+                Duration.ofHours(1), 2);
+        try {
+            assertTrue(small.acquire("login:a", 2, WINDOW).allowed());
+            assertTrue(small.acquire("login:b", 2, WINDOW).allowed());
+
+            String newcomer = "login:c" + System.nanoTime();
+            assertTrue(small.acquire(newcomer, 2, WINDOW).allowed());
+            assertTrue(small.acquire(newcomer, 2, WINDOW).allowed());
+            assertFalse(small.acquire(newcomer, 2, WINDOW).allowed());
+        } finally {
+            small.destroy();
+        }
+    }
+}
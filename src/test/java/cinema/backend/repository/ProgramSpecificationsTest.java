@@ -0,0 +1,124 @@
+package cinema.backend.repository;
+
+import cinema.backend.dto.program.ProgramPublicDto;
+import cinema.backend.model.Program;
+import cinema.backend.model.ProgramState;
+import cinema.backend.model.Role;
+import cinema.backend.model.Screening;
+import cinema.backend.model.ScreeningState;
+import cinema.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Transactional
+class ProgramSpecificationsTest {
+
+    private static final LocalDate MAY = LocalDate.of(2030, 5, 1);
+    private static final LocalDate JUNE = LocalDate.of(2030, 6, 1);
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String tag;
+    private User submitter;
+    private Long classics;
+    private Long modern;
+
+    @BeforeEach
+    void setUp() {
+        tag = "spec" + System.nanoTime();
+        submitter = new User();
+        submitter.setUsername(tag);
+        submitter.setPassword("-");
+        submitter.setFullName(tag);
+        submitter.setRole(Role.SUBMITTER);
+        submitter = userRepository.save(submitter);
+
+        Program first = program("Φεστιβάλ Κλασικών " + tag, "Κλασικό σινεμά", MAY);
+        screening(first, "Ψυχώ", "Αίθουσα Όλυμπος", ScreeningState.SCHEDULED);
+        classics = first.getId();
+
+        Program second = program("Festival " + tag, "Modern cinema", JUNE);
+        screening(second, "Vertigo", "Hall Ω", ScreeningState.SUBMITTED);
+        modern = second.getId();
+    }
+
+    @Test
+    void nameAndDescriptionIgnoreAccentsAndCase() {
+        assertEquals(Set.of(classics), ids(ProgramSpecifications.nameContains("ΦΕΣΤΙΒΑΛ")));
+        assertEquals(Set.of(classics, modern), ids(ProgramSpecifications.nameContains(" ")));
+        assertEquals(Set.of(classics), ids(ProgramSpecifications.descriptionContains("κλασικο")));
+        assertEquals(Set.of(modern), ids(ProgramSpecifications.descriptionContains("CINEMA")));
+        assertEquals(Set.of(), ids(ProgramSpecifications.descriptionContains("100%")));
+    }
+
+    @Test
+    void startDateRangeIsInclusiveAndOpenEnded() {
+        assertEquals(Set.of(classics, modern), ids(ProgramSpecifications.startsBetween(MAY, JUNE)));
+        assertEquals(Set.of(classics), ids(ProgramSpecifications.startsBetween(null, MAY)));
+        assertEquals(Set.of(modern), ids(ProgramSpecifications.startsBetween(MAY.plusDays(1), null)));
+        assertEquals(Set.of(classics, modern), ids(ProgramSpecifications.startsBetween(null, null)));
+    }
+
+    @Test
+    void filmTitleMatchesOnlyVisibleScreenings() {
+        assertEquals(Set.of(classics), ids(ProgramSpecifications.hasScreening("ψυχω", null, null)));
+        // SUBMITTED screening: δεν φαίνεται δημόσια, μόνο στον submitter του
+        assertEquals(Set.of(), ids(ProgramSpecifications.hasScreening("vertigo", null, null)));
+        assertEquals(Set.of(modern), ids(ProgramSpecifications.hasScreening("VERTIGO", null, submitter.getId())));
+    }
+
+    @Test
+    void auditoriumIsFoldedLikeTheOtherTextCriteria() {
+        assertEquals(Set.of(classics), ids(ProgramSpecifications.hasScreening(null, "αιθουσα ολυμπος", null)));
+        assertEquals(Set.of(classics), ids(ProgramSpecifications.hasScreening(null, "ΑΊΘΟΥΣΑ", null)));
+        assertEquals(Set.of(modern), ids(ProgramSpecifications.hasScreening(null, "hall ώ", submitter.getId())));
+        // και τα δύο κριτήρια στο ίδιο screening
+        assertEquals(Set.of(), ids(ProgramSpecifications.hasScreening("ψυχω", "hall", submitter.getId())));
+        assertEquals(Set.of(classics, modern), ids(ProgramSpecifications.hasScreening(null, "  ", null)));
+    }
+
+    private Set<Long> ids(Specification<Program> spec) {
+        return programRepository.findPublic(ProgramSpecifications.nameContains(tag).and(spec), 100).stream()
+                .map(ProgramPublicDto::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private Program program(String name, String description, LocalDate start) {
+        Program program = new Program();
+        program.setName(name);
+        program.setDescription(description);
+        program.setStartDate(start);
+        program.setEndDate(start.plusDays(7));
+        program.setState(ProgramState.ANNOUNCED);
+        return programRepository.save(program);
+    }
+
+    private void screening(Program program, String title, String auditorium, ScreeningState state) {
+        Screening screening = new Screening();
+        screening.setProgram(program);
+        screening.setFilmTitle(title);
+        screening.setFilmDurationMinutes(100);
+        screening.setAuditoriumName(auditorium);
+        screening.setState(state);
+        screening.setSubmitter(submitter);
+        screeningRepository.save(screening);
+    }
+}
@@ -0,0 +1,122 @@
+package cinema.backend.repository;
+
+import cinema.backend.dto.CursorPage;
+import cinema.backend.dto.screening.ScreeningPublicDto;
+import cinema.backend.dto.screening.ScreeningSearchRequest;
+import cinema.backend.model.Program;
+import cinema.backend.model.ProgramState;
+import cinema.backend.model.Screening;
+import cinema.backend.model.ScreeningState;
+import cinema.backend.service.ScreeningService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+class ScreeningSpecificationsTest {
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private ScreeningService screeningService;
+
+    private Program program;
+
+    @BeforeEach
+    void setUp() {
+        program = new Program();
+        program.setName("Specs " + System.nanoTime());
+        program.setStartDate(LocalDate.now());
+        program.setEndDate(LocalDate.now().plusDays(7));
+        program.setState(ProgramState.ANNOUNCED);
+        program = programRepository.save(program);
+    }
+
+    @Test
+    void containsAllWordsFollowsTheTextIndexSemantics() {
+        Long psycho = screening("Ψυχώ", "Anthony Perkins", "Horror, Thriller").getId();
+        Long alien = screening("Alien", "Tom Skerritt", "Sci-Fi, Horror").getId();
+        Long solaris = screening("Solaris 100%", null, "Sci Fi").getId();
+
+        assertEquals(Set.of(psycho), ids(ScreeningSpecifications.containsAllWords("searchTitle", "ΨΥΧΩ")));
+        assertEquals(Set.of(alien), ids(ScreeningSpecifications.containsAllWords("searchGenres", "sci-fi")));
+        assertEquals(Set.of(alien, solaris), ids(ScreeningSpecifications.containsAllWords("searchGenres", "sci fi")));
+        assertEquals(Set.of(psycho, alien), ids(ScreeningSpecifications.containsAllWords("searchGenres", ",")));
+        assertEquals(Set.of(solaris), ids(ScreeningSpecifications.containsAllWords("searchTitle", "0%")));
+        assertEquals(Set.of(), ids(ScreeningSpecifications.containsAllWords("searchTitle", "a_i")));
+        // κενό πεδίο δεν ταιριάζει, κενό κριτήριο δεν περιορίζει
+        assertEquals(Set.of(psycho, alien), ids(ScreeningSpecifications.containsAllWords("searchCast", "t")));
+        assertEquals(Set.of(psycho, alien, solaris), ids(ScreeningSpecifications.containsAllWords("searchCast", " ")));
+    }
+
+    @Test
+    void broadSearchesMatchTheSameScreeningsWithoutAnIdList() {
+        List<Screening> screenings = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            screenings.add(newScreening("Film " + i, null, "Drama"));
+        }
+        screenings.add(newScreening("Other", null, "Drama"));
+        screeningRepository.saveAll(screenings);
+
+        ScreeningSearchRequest criteria = new ScreeningSearchRequest();
+        criteria.setFilmTitle("f");
+        criteria.setGenre("drama");
+
+        int found = 0;
+        String cursor = null;
+        do {
+            CursorPage<ScreeningPublicDto> page = screeningService.searchPublicScreenings(program.getId(), criteria, cursor, 200);
+            for (ScreeningPublicDto screening : page.items()) {
+                assertTrue(screening.getFilmTitle().startsWith("Film "));
+            }
+            found += page.items().size();
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        assertEquals(1001, found);
+
+        criteria.setFilmTitle("film 100");
+        CursorPage<ScreeningPublicDto> narrow = screeningService.searchPublicScreenings(program.getId(), criteria, null, 200);
+        assertNotNull(narrow.items());
+        assertEquals(Set.of("Film 100", "Film 1000"),
+                narrow.items().stream().map(ScreeningPublicDto::getFilmTitle).collect(Collectors.toSet()));
+    }
+
+    private Set<Long> ids(Specification<Screening> spec) {
+        return screeningRepository.findAll(ScreeningSpecifications.inProgram(program.getId()).and(spec)).stream()
+                .map(Screening::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private Screening screening(String title, String cast, String genres) {
+        return screeningRepository.save(newScreening(title, cast, genres));
+    }
+
+    private Screening newScreening(String title, String cast, String genres) {
+        Screening screening = new Screening();
+        screening.setProgram(program);
+        screening.setFilmTitle(title);
+        screening.setFilmCast(cast);
+        screening.setFilmGenres(genres);
+        screening.setFilmDurationMinutes(100);
+        screening.setState(ScreeningState.SCHEDULED);
+        return screening;
+    }
+}
@@ -0,0 +1,96 @@
+package cinema.backend.schedule;
+
+import cinema.backend.model.Program;
+import cinema.backend.model.ProgramState;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.ScreeningRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class PublicScheduleSnapshotTest {
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private ProgramPublicViews programPublicViews;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void snapshotCatchesUpWithChangesCommittedElsewhere() {
+        Long programId = transactionTemplate.execute(status -> {
+            Program program = new Program();
+            program.setName("Snapshot " + System.nanoTime());
+            program.setStartDate(LocalDate.now());
+            program.setEndDate(LocalDate.now().plusDays(1));
+            return programRepository.save(program).getId();
+        });
+
+        // ο "άλλος" node: δικό του snapshot, χωρίς refresh από τις αλλαγές παρακάτω
+        PublicScheduleSnapshot snapshot = snapshot(Duration.ZERO);
+        snapshot.rebuild();
+        PublicSchedule before = snapshot.current();
+        assertFalse(before.contains(programId));
+        assertSame(before, snapshot.current());
+
+        setState(programId, ProgramState.ANNOUNCED);
+
+        PublicSchedule announced = snapshot.current();
+        assertTrue(announced.contains(programId));
+        assertNotEquals(before.builtAt(), announced.builtAt());
+
+        setState(programId, ProgramState.CREATED);
+
+        assertFalse(snapshot.current().contains(programId));
+    }
+
+    @Test
+    void snapshotIsServedFromMemoryUntilRevalidation() {
+        Long programId = transactionTemplate.execute(status -> {
+            Program program = new Program();
+            program.setName("Snapshot cached " + System.nanoTime());
+            program.setStartDate(LocalDate.now());
+            program.setEndDate(LocalDate.now().plusDays(1));
+            return programRepository.save(program).getId();
+        });
+
+        PublicScheduleSnapshot snapshot = snapshot(Duration.ofHours(1));
+        snapshot.rebuild();
+        PublicSchedule before = snapshot.current();
+
+        setState(programId, ProgramState.ANNOUNCED);
+
+        assertSame(before, snapshot.current());
+        assertFalse(snapshot.current().contains(programId));
+    }
+
+    private PublicScheduleSnapshot snapshot(Duration revalidateAfter) {
+        return new PublicScheduleSnapshot(programRepository, screeningRepository, programPublicViews,
+                transactionManager, revalidateAfter);
+    }
+
+    private void setState(Long programId, ProgramState state) {
+        transactionTemplate.executeWithoutResult(status ->
+                programRepository.findById(programId).orElseThrow().setState(state));
+    }
+}
@@ -0,0 +1,87 @@
+package cinema.backend.schedule;
+
+import cinema.backend.dto.CursorPage;
+import cinema.backend.dto.program.ProgramPublicDto;
+import cinema.backend.dto.screening.ScreeningPublicDto;
+import cinema.backend.model.ProgramState;
+import cinema.backend.model.ScreeningState;
+import cinema.backend.repository.ProgramCursor;
+import cinema.backend.repository.ScreeningCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PublicScheduleTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 5, 1, 9, 0);
+
+    // με τη σειρά της λίστας: startTime με τα null στο τέλος, μετά id
+    private final PublicSchedule schedule = new PublicSchedule(List.of(), Map.of(
+            1L, List.of(screening(4L, NINE), screening(2L, NINE.plusHours(1)), screening(3L, NINE.plusHours(1)),
+                    screening(1L, null), screening(5L, null)),
+            2L, List.of()), Instant.now());
+
+    @Test
+    void followingTheCursorVisitsEveryScreeningOnce() {
+        List<Long> ids = new ArrayList<>();
+        ScreeningCursor cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ScreeningPublicDto> page = schedule.screeningsPage(1L, cursor, 2);
+            page.items().forEach(dto -> ids.add(dto.getId()));
+            cursor = page.nextCursor() == null ? null
+                    : ScreeningCursor.decode(page.nextCursor(), ScreeningCursor.Order.START_TIME);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of(4L, 2L, 3L, 1L, 5L), ids);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<ScreeningPublicDto> page = schedule.screeningsPage(1L, null, 5);
+        assertEquals(5, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void announcedProgramWithoutScreeningsIsStillServed() {
+        assertTrue(schedule.contains(2L));
+        assertTrue(schedule.screeningsPage(2L, null, 10).items().isEmpty());
+        assertFalse(schedule.contains(3L));
+    }
+
+    @Test
+    void programCursorsContinueAfterTheLastProgramOfThePage() {
+        LocalDate may = LocalDate.of(2025, 5, 1);
+        PublicSchedule programs = new PublicSchedule(List.of(program(3L, may), program(1L, may.plusDays(1)),
+                program(2L, may.plusDays(1))), Map.of(), Instant.now());
+
+        CursorPage<ProgramPublicDto> first = programs.programsPage(null, 2);
+        assertEquals(List.of(3L, 1L), first.items().stream().map(ProgramPublicDto::getId).toList());
+
+        CursorPage<ProgramPublicDto> second = programs.programsPage(ProgramCursor.decode(first.nextCursor()), 2);
+        assertEquals(List.of(2L), second.items().stream().map(ProgramPublicDto::getId).toList());
+        assertNull(second.nextCursor());
+    }
+
+    private static ProgramPublicDto program(Long id, LocalDate startDate) {
+        return new ProgramPublicDto(id, "Program " + id, null, startDate, startDate.plusDays(30), ProgramState.ANNOUNCED);
+    }
+
+    private static ScreeningPublicDto screening(Long id, LocalDateTime startTime) {
+        return new ScreeningPublicDto(id, 1L, "Film " + id, "Drama", "Hall 1",
+                startTime, startTime == null ? null : startTime.plusHours(2), ScreeningState.SCHEDULED);
+    }
+}
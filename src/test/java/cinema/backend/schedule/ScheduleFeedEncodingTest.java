@@ -0,0 +1,100 @@
+package cinema.backend.schedule;
+
+import cinema.backend.model.Program;
+import cinema.backend.model.ProgramState;
+import cinema.backend.model.Screening;
+import cinema.backend.model.ScreeningState;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.ScreeningRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ScheduleFeedEncodingTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private PublicScheduleSnapshot publicSchedule;
+
+    private Long programId;
+
+    @BeforeEach
+    void setUp() {
+        Program program = new Program();
+        program.setName("Feed " + System.nanoTime());
+        program.setStartDate(LocalDate.now());
+        program.setEndDate(LocalDate.now().plusDays(2));
+        program.setState(ProgramState.ANNOUNCED);
+        program = programRepository.save(program);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        Screening screening = new Screening();
+        screening.setProgram(program);
+        screening.setFilmTitle("Feed film");
+        screening.setFilmDurationMinutes(90);
+        screening.setStartTime(start);
+        screening.setEndTime(start.plusMinutes(100));
+        screening.setState(ScreeningState.SCHEDULED);
+        screeningRepository.save(screening);
+
+        programId = program.getId();
+        publicSchedule.rebuild();
+    }
+
+    @Test
+    void gzipIsSentOnlyWhenAccepted() throws Exception {
+        feed("gzip, deflate").andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        feed("br;q=1.0, gzip;q=0.5").andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        feed("*").andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        feed(null).andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        feed("identity").andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void refusedGzipGetsThePlainBody() throws Exception {
+        feed("gzip;q=0")
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(containsString("Feed film")));
+        feed("deflate, gzip; Q=0.0")
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        // το ρητό gzip υπερισχύει του "*"
+        feed("*, gzip;q=0")
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        feed("*;q=0")
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private ResultActions feed(String acceptEncoding) throws Exception {
+        var request = get("/api/programs/" + programId + "/feed.ndjson");
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return mvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)));
+    }
+}
@@ -0,0 +1,50 @@
+package cinema.backend.schedule;
+
+import cinema.backend.dto.program.ProgramPublicDto;
+import cinema.backend.dto.screening.ScreeningPublicDto;
+import cinema.backend.model.ProgramState;
+import cinema.backend.model.ScreeningState;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleFeedsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 5, 1, 21, 0);
+
+    @Test
+    void calendarEscapesTextAndFoldsLongLines() {
+        ScreeningPublicDto screening = new ScreeningPublicDto(7L, 1L,
+                "Tom, Dick; and Harry \\ the very long director's cut that goes well past the line limit",
+                "Comedy, Drama", "Αίθουσα 1", START, START.plusHours(2), ScreeningState.SCHEDULED);
+        ScreeningPublicDto unscheduledTime = new ScreeningPublicDto(8L, 1L, "No time", null, null,
+                null, null, ScreeningState.SCHEDULED);
+        PublicSchedule schedule = new PublicSchedule(List.of(), Map.of(1L, List.of(screening, unscheduledTime)),
+                Instant.parse("2025-04-01T10:00:00Z"));
+        ProgramPublicDto program = new ProgramPublicDto(1L, "Spring", null, LocalDate.of(2025, 5, 1),
+                LocalDate.of(2025, 5, 31), ProgramState.ANNOUNCED);
+
+        String ics = ScheduleFeeds.calendar(program, schedule.screenings().get(1L), schedule);
+
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+        assertTrue(ics.contains("DTSTAMP:20250401T100000Z\r\n"));
+        assertTrue(ics.contains("DTSTART:20250501T210000\r\nDTEND:20250501T230000\r\n"));
+        assertTrue(ics.contains("CATEGORIES:Comedy,Drama\r\n"));
+        assertTrue(ics.contains("LOCATION:Αίθουσα 1\r\n"));
+        assertTrue(ics.replace("\r\n ", "").contains("SUMMARY:Tom\\, Dick\\; and Harry \\\\ the very long"));
+        assertFalse(ics.contains("No time"));
+
+        for (String line : ics.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+    }
+}
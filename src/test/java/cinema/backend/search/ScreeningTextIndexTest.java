@@ -0,0 +1,153 @@
+package cinema.backend.search;
+
+import cinema.backend.model.Program;
+import cinema.backend.model.Screening;
+import cinema.backend.repository.ProgramSummaryRepository;
+import cinema.backend.repository.ScreeningRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScreeningTextIndexTest {
+
+    private ScreeningRepository repository;
+    private ProgramSummaryRepository summaryRepository;
+    private ScreeningTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ScreeningRepository.class);
+        when(repository.findTextFieldsByProgramId(1L)).thenReturn(List.of(
+                row(10L, "Psycho", "Anthony Perkins, Janet Leigh", "Horror, Thriller"),
+                row(11L, "Les Diaboliques", "Simone Signoret, Véra Clouzot", "Thriller"),
+                row(12L, "Vertigo", null, "Mystery"),
+                row(14L, "Ψυχώ", "Άντονι Πέρκινς", "Θρίλερ"),
+                row(15L, "Alien", "Tom Skerritt", "Sci-Fi, Horror"),
+                row(16L, "Solaris", null, "Sci Fi")
+        ));
+        summaryRepository = mock(ProgramSummaryRepository.class);
+        when(summaryRepository.findVersionByProgramId(1L)).thenReturn(Optional.of(1L));
+        index = new ScreeningTextIndex(repository, summaryRepository, Duration.ofHours(1), 100);
+    }
+
+    @Test
+    void matchesEveryWordAsSubstringOfSomeToken() {
+        assertEquals(Set.of(10L), index.match(1L, "psy", null, null));
+        assertEquals(Set.of(10L), index.match(1L, "CHO", null, null));
+        assertEquals(Set.of(11L), index.match(1L, null, "si sig", null));
+        assertEquals(Set.of(10L, 11L), index.match(1L, null, null, "thriller"));
+        assertEquals(Set.of(10L), index.match(1L, null, "perkins", "thril"));
+        assertEquals(Set.of(), index.match(1L, "psycho", "signoret", null));
+        assertEquals(Set.of(), index.match(1L, null, "anyone", null));
+    }
+
+    @Test
+    void matchingIgnoresAccentsAndCase() {
+        assertEquals(Set.of(14L), index.match(1L, "ψυχω", null, null));
+        assertEquals(Set.of(14L), index.match(1L, "ΨΥΧΏ", "αντονι", null));
+        assertEquals(Set.of(14L), index.match(1L, null, "περκινσ", null));
+        assertEquals(Set.of(11L), index.match(1L, null, "vera", null));
+    }
+
+    @Test
+    void wordsAreSplitOnWhitespaceOnlyAndMatchedAsSubstrings() {
+        // όπως το containsAllWords: η λέξη ταιριάζει όπως γράφτηκε, μαζί με τα σύμβολά της
+        assertEquals(Set.of(15L), index.match(1L, null, null, "sci-fi"));
+        assertEquals(Set.of(15L, 16L), index.match(1L, null, null, "sci fi"));
+        assertEquals(Set.of(15L), index.match(1L, null, null, "i-f"));
+        assertEquals(Set.of(15L), index.match(1L, null, null, "fi,"));
+        assertEquals(Set.of(10L), index.match(1L, null, "perkins,", null));
+        assertEquals(Set.of(), index.match(1L, null, "leigh,", null));
+        assertEquals(Set.of(10L, 11L), index.match(1L, null, ",", null));
+        assertEquals(Set.of(10L, 15L), index.match(1L, null, null, ","));
+        assertEquals(Set.of(), index.match(1L, "psycho-", null, null));
+    }
+
+    @Test
+    void noTextCriteriaMeansNoRestriction() {
+        assertNull(index.match(1L, null, "  ", ""));
+    }
+
+    @Test
+    void loadsOnceAndAppliesIncrementalChanges() {
+        index.match(1L, "psycho", null, null);
+
+        index.index(screening(12L, "Vertigo", "James Stewart", "Mystery"));
+        index.index(screening(13L, "Rear Window", "James Stewart", "Mystery"));
+        assertEquals(Set.of(12L, 13L), index.match(1L, null, "stewart", null));
+
+        index.index(screening(13L, "Rope", "James Stewart", "Crime"));
+        assertEquals(Set.of(), index.match(1L, "window", null, null));
+        assertEquals(Set.of(13L), index.match(1L, "rope", null, null));
+
+        index.remove(1L, 12L);
+        assertEquals(Set.of(13L), index.match(1L, null, "stewart", null));
+
+        verify(repository, times(1)).findTextFieldsByProgramId(1L);
+    }
+
+    @Test
+    void reloadsWhenTheProgramVersionChangedElsewhere() {
+        // ο "άλλος" node: χωρίς hooks, βλέπει μόνο ότι το ProgramSummary.version άλλαξε
+        ScreeningTextIndex other = new ScreeningTextIndex(repository, summaryRepository, Duration.ZERO, 100);
+        assertEquals(Set.of(), other.match(1L, "rope", null, null));
+
+        when(repository.findTextFieldsByProgramId(1L)).thenReturn(List.of(row(13L, "Rope", "James Stewart", "Crime")));
+        assertEquals(Set.of(), other.match(1L, "rope", null, null));
+
+        when(summaryRepository.findVersionByProgramId(1L)).thenReturn(Optional.of(2L));
+        assertEquals(Set.of(13L), other.match(1L, "rope", null, null));
+        assertEquals(Set.of(), other.match(1L, "psycho", null, null));
+        verify(repository, times(2)).findTextFieldsByProgramId(1L);
+    }
+
+    @Test
+    void keepsOnlyTheMostRecentlyUsedPrograms() {
+        ScreeningTextIndex bounded = new ScreeningTextIndex(repository, summaryRepository, Duration.ofHours(1), 2);
+        when(repository.findTextFieldsByProgramId(2L)).thenReturn(List.of(row(20L, "Rope", null, null)));
+
+        bounded.match(1L, "psycho", null, null);
+        bounded.match(2L, "rope", null, null);
+        bounded.match(1L, "psycho", null, null);
+        // program που δεν υπάρχει: φορτώνεται άδειο και διώχνει το 2, όχι το 1 που χρησιμοποιήθηκε πιο πρόσφατα
+        assertEquals(Set.of(), bounded.match(999L, "psycho", null, null));
+        assertEquals(2, bounded.size());
+
+        assertEquals(Set.of(10L), bounded.match(1L, "psycho", null, null));
+        assertEquals(Set.of(20L), bounded.match(2L, "rope", null, null));
+        verify(repository, times(1)).findTextFieldsByProgramId(1L);
+        verify(repository, times(2)).findTextFieldsByProgramId(2L);
+    }
+
+    private static Screening screening(Long id, String title, String cast, String genres) {
+        Program program = new Program();
+        program.setId(1L);
+        Screening screening = new Screening();
+        screening.setId(id);
+        screening.setProgram(program);
+        screening.setFilmTitle(title);
+        screening.setFilmCast(cast);
+        screening.setFilmGenres(genres);
+        return screening;
+    }
+
+    private static ScreeningRepository.TextFields row(Long id, String title, String cast, String genres) {
+        return new ScreeningRepository.TextFields() {
+            public Long getId() { return id; }
+            public String getSearchTitle() { return SearchText.normalize(title); }
+            public String getSearchCast() { return SearchText.normalize(cast); }
+            public String getSearchGenres() { return SearchText.normalize(genres); }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package cinema.backend.security;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+@AutoConfigureMockMvc
+class AuthenticationCacheBenchmarkTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
+    @Test
+    void secondRequestIsServedFromCache() throws Exception {
+        authenticationCache.clear();
+
+        mvc.perform(get("/api/halls").with(httpBasic("user1", "user1")))
+                .andExpect(status().isOk());
+        Assertions.assertEquals(1, authenticationCache.size());
+
+        mvc.perform(get("/api/halls").with(httpBasic("user1", "user1")))
+                .andExpect(status().isOk());
+        Assertions.assertEquals(1, authenticationCache.size());
+
+        mvc.perform(get("/api/halls").with(httpBasic("user1", "wrong")))
+                .andExpect(status().isUnauthorized());
+        Assertions.assertEquals(1, authenticationCache.size());
+    }
+
+    // mvn test -Dtest=AuthenticationCacheBenchmarkTest -Dbenchmark=true
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void authenticatedRequestsPerSecond() throws Exception {
+        int requests = Integer.getInteger("benchmark.requests", 200);
+
+        run(20, true);
+        double cached = run(requests, true);
+        double uncached = run(requests, false);
+
+        System.out.printf("Authenticated req/s: with cache %.1f, without cache %.1f (x%.1f)%n",
+                cached, uncached, cached / uncached);
+    }
+
+    private double run(int requests, boolean useCache) throws Exception {
+        authenticationCache.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            if (!useCache) {
+                authenticationCache.clear();
+            }
+            mvc.perform(get("/api/halls").with(httpBasic("user1", "user1")))
+                    .andExpect(status().isOk());
+        }
+        return requests / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
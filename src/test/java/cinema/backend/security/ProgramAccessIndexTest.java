@@ -0,0 +1,100 @@
+package cinema.backend.security;
+
+import cinema.backend.model.Program;
+import cinema.backend.model.Role;
+import cinema.backend.model.User;
+import cinema.backend.repository.ProgramRepository;
+import cinema.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ProgramAccessIndexTest {
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void membershipChangedOutsideThisNodeIsPickedUpOnRevalidation() {
+        User creator = user("access-creator", Role.PROGRAMMER);
+        User programmer = user("access-programmer", Role.PROGRAMMER);
+        User staff = user("access-staff", Role.STAFF);
+        Long programId = transactionTemplate.execute(status -> {
+            Program program = new Program();
+            program.setName("Access " + System.nanoTime());
+            program.setStartDate(LocalDate.now());
+            program.setEndDate(LocalDate.now().plusDays(1));
+            program.setCreator(creator);
+            program.getProgrammers().add(creator);
+            return programRepository.save(program).getId();
+        });
+
+        // ο "άλλος" node: δικό του index, χωρίς grant hooks από τις αλλαγές παρακάτω
+        ProgramAccessIndex index = new ProgramAccessIndex(programRepository, Duration.ZERO);
+        assertTrue(index.isProgrammer(programId, creator.getId()));
+        assertTrue(index.isCreator(programId, creator.getId()));
+        assertFalse(index.isProgrammer(programId, programmer.getId()));
+        assertFalse(index.isStaff(programId, staff.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Program program = programRepository.findById(programId).orElseThrow();
+            program.getProgrammers().add(userRepository.findById(programmer.getId()).orElseThrow());
+            program.getStaff().add(userRepository.findById(staff.getId()).orElseThrow());
+        });
+
+        assertTrue(index.isProgrammer(programId, programmer.getId()));
+        assertTrue(index.isStaff(programId, staff.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> programRepository.findById(programId).orElseThrow()
+                .getStaff().removeIf(u -> u.getId().equals(staff.getId())));
+
+        assertFalse(index.isStaff(programId, staff.getId()));
+    }
+
+    @Test
+    void entriesAreServedFromMemoryUntilRevalidation() {
+        User creator = user("access-cached", Role.PROGRAMMER);
+        User programmer = user("access-cached-programmer", Role.PROGRAMMER);
+        Long programId = transactionTemplate.execute(status -> {
+            Program program = new Program();
+            program.setName("Access cached " + System.nanoTime());
+            program.setStartDate(LocalDate.now());
+            program.setEndDate(LocalDate.now().plusDays(1));
+            program.setCreator(creator);
+            return programRepository.save(program).getId();
+        });
+
+        ProgramAccessIndex index = new ProgramAccessIndex(programRepository, Duration.ofHours(1));
+        assertFalse(index.isProgrammer(programId, programmer.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> programRepository.findById(programId).orElseThrow()
+                .getProgrammers().add(userRepository.findById(programmer.getId()).orElseThrow()));
+
+        assertFalse(index.isProgrammer(programId, programmer.getId()));
+    }
+
+    private User user(String username, Role role) {
+        return userRepository.findByUsername(username).orElseGet(() -> {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword("-");
+            user.setFullName(username);
+            user.setRole(role);
+            return userRepository.save(user);
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package cinema.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// όπως πίσω από έναν load balancer: κάθε X-Forwarded-For παρακάτω είναι διαφορετικός client
+@SpringBootTest(properties = "cinema.rate-limit.forwarded-hops=1")
+@AutoConfigureMockMvc
+class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void ipPoliciesRejectBeforeCredentialsAreChecked() throws Exception {
+        // program-search: 10 ανά 10s ανά IP. Με λάθος credentials το Basic δίνει 401· αν το όριο ελεγχόταν
+        // μετά το authentication, το 429 δεν θα εμφανιζόταν ποτέ (το GCRA ξαναγεμίζει ~1 θέση το δευτερόλεπτο)
+        int status = 0;
+        int attempts = 0;
+        while (attempts < 20) {
+            status = mvc.perform(post("/api/programs/search")
+                            .with(httpBasic("user1", "wrong" + attempts))
+                            .header("X-Forwarded-For", "198.51.100.21")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{}"))
+                    .andReturn().getResponse().getStatus();
+            attempts++;
+            if (status != 401) break;
+        }
+
+        assertEquals(429, status);
+        assertTrue(attempts > 10, "rejected after " + attempts + " attempts");
+    }
+
+    @Test
+    void principalPoliciesCountPerUserAcrossAddresses() throws Exception {
+        // screening-submit: 5 ανά 10s ανά χρήστη, ανεξάρτητα από τη διεύθυνση
+        for (int i = 0; i < 5; i++) {
+            mvc.perform(post("/api/programs/999999/screenings/999999/submit")
+                            .with(httpBasic("submitter", "submitter"))
+                            .header("X-Forwarded-For", "198.51.100." + (30 + i)))
+                    .andExpect(status().isBadRequest());
+        }
+
+        mvc.perform(post("/api/programs/999999/screenings/999999/submit")
+                        .with(httpBasic("submitter", "submitter"))
+                        .header("X-Forwarded-For", "198.51.100.40"))
+                .andExpect(status().isTooManyRequests());
+
+        // άλλος χρήστης από την ίδια διεύθυνση έχει δικό του μετρητή
+        mvc.perform(post("/api/programs/999999/screenings/999999/submit")
+                        .with(httpBasic("user1", "user1"))
+                        .header("X-Forwarded-For", "198.51.100.40"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,80 @@
+package cinema.backend.util;
+
+import cinema.backend.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @BeforeEach
+    void setUp() {
+        RateLimiter.reset();
+    }
+
+    @Test
+    void allowsBurstUpToLimitThenRejects() {
+        for (int i = 0; i < 5; i++) {
+            RateLimiter.checkRate("search:10.0.0.1", 5, Duration.ofSeconds(10));
+        }
+        assertThrows(TooManyRequestsException.class,
+                () -> RateLimiter.checkRate("search:10.0.0.1", 5, Duration.ofSeconds(10)));
+
+        // άλλο key, άλλος κουβάς
+        RateLimiter.checkRate("search:10.0.0.2", 5, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void refillsAfterWindow() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(RateLimiter.acquire("submit:a", 3, Duration.ofMillis(60)).allowed());
+        }
+        assertFalse(RateLimiter.acquire("submit:a", 3, Duration.ofMillis(60)).allowed());
+
+        Thread.sleep(80);
+        assertTrue(RateLimiter.acquire("submit:a", 3, Duration.ofMillis(60)).allowed());
+    }
+
+    @Test
+    void reportsRemainingQuotaAndRetryAfter() {
+        assertEquals(3, RateLimiter.acquire("quota", 4, Duration.ofSeconds(8)).remaining());
+        assertEquals(2, RateLimiter.acquire("quota", 4, Duration.ofSeconds(8)).remaining());
+        assertEquals(1, RateLimiter.acquire("quota", 4, Duration.ofSeconds(8)).remaining());
+        assertEquals(0, RateLimiter.acquire("quota", 4, Duration.ofSeconds(8)).remaining());
+
+        RateLimiter.Decision rejected = RateLimiter.acquire("quota", 4, Duration.ofSeconds(8));
+        assertFalse(rejected.allowed());
+        assertTrue(rejected.retryAfterNanos() > 0 && rejected.retryAfterNanos() <= Duration.ofSeconds(2).toNanos());
+    }
+
+    @Test
+    void evictsIdleKeys() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            RateLimiter.acquire("crawler:" + i, 10, Duration.ofMillis(20));
+        }
+        assertEquals(100, RateLimiter.trackedKeys());
+
+        Thread.sleep(50);
+        RateLimiter.evictIdle();
+        assertEquals(0, RateLimiter.trackedKeys());
+    }
+
+    @Test
+    void fullTableStillAdmitsNewKeysAndKeepsThrottledOnes() {
+        Duration minute = Duration.ofMinutes(1);
+        assertTrue(RateLimiter.acquire("login:hot", 1, minute).allowed());
+        assertFalse(RateLimiter.acquire("login:hot", 1, minute).allowed());
+
+        // πολλά keys μέσα στο ίδιο window: κανένα δεν είναι idle
+        for (int i = 0; RateLimiter.trackedKeys() < RateLimiter.MAX_KEYS; i++) {
+            RateLimiter.acquire("login:" + i, 10, minute);
+        }
+
+        assertTrue(RateLimiter.acquire("login:newcomer", 10, minute).allowed());
+        assertTrue(RateLimiter.trackedKeys() <= RateLimiter.MAX_KEYS);
+        assertFalse(RateLimiter.acquire("login:hot", 1, minute).allowed());
+    }
+}